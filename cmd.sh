@@ -8,4 +8,32 @@ curl -X POST http://localhost:8080/api/purchases -H "Content-Type: application/j
 
 curl -X POST http://localhost:8080/api/users -H "Content-Type: application/json" -d '{"name": "John Doe", "email": "john@example.com"}'
 
-curl http://localhost:8080/api/users/1
\ No newline at end of file
+curl http://localhost:8080/api/users/1
+
+curl -X POST http://localhost:8080/api/merchants -H "Content-Type: application/json" -d '{"merchantName": "Medicine Store", "latitude": 16.8409, "longitude": 96.1735}'
+
+curl http://localhost:8080/api/merchants/nearby\?latitude\=16.84\&longitude\=96.17
+
+# verdict-only response (id + fraud flag)
+curl -X POST http://localhost:8080/api/purchases\?view\=verdict -H "Content-Type: application/json" -d '{"userId": 1, "amount": 299.99, "merchantName": "Medicine Store", "cardNumber": "4532XXXXXXXX1234"}'
+
+# binary Smile request/response: Content-Type/Accept: application/x-jackson-smile
+curl -X POST http://localhost:8080/api/purchases/batch\?view\=verdict -H "Content-Type: application/x-jackson-smile" -H "Accept: application/x-jackson-smile" --data-binary @purchases.smile
+
+# shadow model agreement/latency stats
+curl http://localhost:8080/api/fraud/shadow
+
+# busiest merchants right now (count-min sketch top-K)
+curl http://localhost:8080/api/fraud/merchants/top
+
+# reload fraud rules from fraud.rules.path
+curl -X POST http://localhost:8080/api/fraud/rules/reload
+
+# decision journal writer state: written, dropped and queued records
+curl http://localhost:8080/api/fraud/journal
+
+# replay the decision journal through the current model and rules
+curl -X POST http://localhost:8080/api/fraud/journal/replay
+
+# readiness, reported only after scoring warm-up
+curl http://localhost:8080/actuator/health/readiness
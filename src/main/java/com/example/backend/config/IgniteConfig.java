@@ -2,6 +2,7 @@ package com.example.backend.config;
 
 import com.example.backend.model.Purchase;
 import com.example.backend.model.User;
+import com.example.backend.model.UserLocation;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
 import org.apache.ignite.Ignition;
@@ -14,6 +15,7 @@ import org.springframework.context.annotation.Configuration;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 @Configuration
 public class IgniteConfig {
@@ -51,4 +53,16 @@ public class IgniteConfig {
         CacheConfiguration<String, Long> cacheCfg = new CacheConfiguration<>("cardNumberToUserIdCache");
         return ignite.getOrCreateCache(cacheCfg);
     }
+
+    @Bean
+    public IgniteCache<String, Set<Long>> cardToUserIdsCache(Ignite ignite) {
+        CacheConfiguration<String, Set<Long>> cacheCfg = new CacheConfiguration<>("cardToUserIdsCache");
+        return ignite.getOrCreateCache(cacheCfg);
+    }
+
+    @Bean
+    public IgniteCache<Long, UserLocation> userLastLocationCache(Ignite ignite) {
+        CacheConfiguration<Long, UserLocation> cacheCfg = new CacheConfiguration<>("userLastLocationCache");
+        return ignite.getOrCreateCache(cacheCfg);
+    }
 }
\ No newline at end of file
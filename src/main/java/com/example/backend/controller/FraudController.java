@@ -0,0 +1,64 @@
+package com.example.backend.controller;
+
+import com.example.backend.model.JournalStats;
+import com.example.backend.model.MerchantCount;
+import com.example.backend.model.ReplayResult;
+import com.example.backend.model.ShadowStats;
+import com.example.backend.service.fraud.MerchantActivitySketches;
+import com.example.backend.service.fraud.ShadowModelEvaluator;
+import com.example.backend.service.fraud.journal.DecisionJournal;
+import com.example.backend.service.fraud.journal.DecisionReplayService;
+import com.example.backend.service.fraud.rules.FraudRuleEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/fraud")
+@RequiredArgsConstructor
+public class FraudController {
+
+    private final ShadowModelEvaluator shadowModelEvaluator;
+    private final MerchantActivitySketches merchantActivitySketches;
+    private final FraudRuleEngine ruleEngine;
+    private final DecisionJournal decisionJournal;
+    private final DecisionReplayService decisionReplayService;
+
+    @GetMapping("/shadow")
+    public ShadowStats getShadowStats() {
+        return shadowModelEvaluator.getStats();
+    }
+
+    @GetMapping("/merchants/top")
+    public List<MerchantCount> getTopMerchants() {
+        return merchantActivitySketches.getTopMerchants();
+    }
+
+    @PostMapping("/rules/reload")
+    public void reloadRules() throws IOException {
+        try {
+            ruleEngine.reload();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    @GetMapping("/journal")
+    public JournalStats getJournalStats() {
+        return decisionJournal.getStats();
+    }
+
+    @PostMapping("/journal/replay")
+    public ReplayResult replayJournal(@RequestParam(defaultValue = "false") boolean candidate,
+                                      @RequestParam(required = false) String modelPath) throws IOException {
+        try {
+            return decisionReplayService.replay(candidate, modelPath);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
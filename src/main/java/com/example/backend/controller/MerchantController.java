@@ -0,0 +1,37 @@
+package com.example.backend.controller;
+
+import com.example.backend.model.MerchantLocation;
+import com.example.backend.service.fraud.MerchantLocationIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/merchants")
+@RequiredArgsConstructor
+public class MerchantController {
+
+    private final MerchantLocationIndex merchantLocationIndex;
+
+    @PostMapping
+    public void saveMerchant(@RequestBody MerchantLocation location) {
+        try {
+            merchantLocationIndex.addMerchant(location);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    @GetMapping("/{name}")
+    public MerchantLocation getMerchant(@PathVariable String name) {
+        return merchantLocationIndex.getLocation(name);
+    }
+
+    @GetMapping("/nearby")
+    public List<String> findNearbyMerchants(@RequestParam double latitude, @RequestParam double longitude) {
+        return merchantLocationIndex.findNearbyMerchants(latitude, longitude);
+    }
+}
@@ -1,10 +1,18 @@
 package com.example.backend.controller;
 
 import com.example.backend.model.Purchase;
+import com.example.backend.model.PurchaseVerdict;
 import com.example.backend.service.PurchaseService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
+/**
+ * Purchases can be submitted as JSON or as binary Smile ("application/x-jackson-smile"),
+ * selected through the Content-Type and Accept headers. Adding "?view=verdict" returns
+ * only the id and fraud verdict instead of echoing the whole purchase.
+ */
 @RestController
 @RequestMapping("/api/purchases")
 @RequiredArgsConstructor
@@ -17,8 +25,26 @@ public class PurchaseController {
         return purchaseService.processPurchase(purchase);
     }
 
+    @PostMapping(params = "view=verdict")
+    public PurchaseVerdict processPurchaseVerdict(@RequestBody Purchase purchase) {
+        Purchase processed = purchaseService.processPurchase(purchase);
+        return new PurchaseVerdict(processed.getId(), processed.isFraud());
+    }
+
+    @PostMapping("/batch")
+    public List<Purchase> processPurchases(@RequestBody List<Purchase> purchases) {
+        return purchaseService.processPurchases(purchases);
+    }
+
+    @PostMapping(value = "/batch", params = "view=verdict")
+    public List<PurchaseVerdict> processPurchasesVerdict(@RequestBody List<Purchase> purchases) {
+        return purchaseService.processPurchases(purchases).stream()
+                .map(processed -> new PurchaseVerdict(processed.getId(), processed.isFraud()))
+                .toList();
+    }
+
     @GetMapping("/{id}")
     public Purchase getPurchase(@PathVariable Long id) {
         return purchaseService.getPurchase(id);
     }
-}
\ No newline at end of file
+}
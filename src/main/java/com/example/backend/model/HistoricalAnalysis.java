@@ -5,7 +5,6 @@ import java.util.Map;
 public class HistoricalAnalysis {
     private double averageAmount;
     private double standardDeviation;
-    private Map<String, Integer> commonMerchants;
     private Map<Integer, Integer> typicalPurchaseHours;
     private double purchaseFrequencyScore;
     private double unusualPatternScore;
@@ -35,14 +34,6 @@ public class HistoricalAnalysis {
         this.standardDeviation = standardDeviation;
     }
 
-    public Map<String, Integer> getCommonMerchants() {
-        return commonMerchants;
-    }
-
-    public void setCommonMerchants(Map<String, Integer> commonMerchants) {
-        this.commonMerchants = commonMerchants;
-    }
-
     public Map<Integer, Integer> getTypicalPurchaseHours() {
         return typicalPurchaseHours;
     }
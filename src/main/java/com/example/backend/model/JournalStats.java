@@ -0,0 +1,59 @@
+package com.example.backend.model;
+
+public class JournalStats {
+    private String directory;
+    private boolean enabled;
+    private boolean writerRunning;
+    private long written;
+    private long dropped;
+    private int queued;
+
+    // Getters and Setters
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isWriterRunning() {
+        return writerRunning;
+    }
+
+    public void setWriterRunning(boolean writerRunning) {
+        this.writerRunning = writerRunning;
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public void setWritten(long written) {
+        this.written = written;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public void setDropped(long dropped) {
+        this.dropped = dropped;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public void setQueued(int queued) {
+        this.queued = queued;
+    }
+}
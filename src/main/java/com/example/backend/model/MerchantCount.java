@@ -0,0 +1,32 @@
+package com.example.backend.model;
+
+public class MerchantCount {
+    private String merchantName;
+    private long estimatedCount;
+
+    // Default constructor
+    public MerchantCount() {
+    }
+
+    public MerchantCount(String merchantName, long estimatedCount) {
+        this.merchantName = merchantName;
+        this.estimatedCount = estimatedCount;
+    }
+
+    // Getters and Setters
+    public String getMerchantName() {
+        return merchantName;
+    }
+
+    public void setMerchantName(String merchantName) {
+        this.merchantName = merchantName;
+    }
+
+    public long getEstimatedCount() {
+        return estimatedCount;
+    }
+
+    public void setEstimatedCount(long estimatedCount) {
+        this.estimatedCount = estimatedCount;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.backend.model;
+
+public class MerchantLocation {
+    private String merchantName;
+    private double latitude;
+    private double longitude;
+
+    // Default constructor
+    public MerchantLocation() {
+    }
+
+    public MerchantLocation(String merchantName, double latitude, double longitude) {
+        this.merchantName = merchantName;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    // Getters and Setters
+    public String getMerchantName() {
+        return merchantName;
+    }
+
+    public void setMerchantName(String merchantName) {
+        this.merchantName = merchantName;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.backend.model;
+
+public class PurchaseVerdict {
+    private Long id;
+    private boolean isFraud;
+
+    // Default constructor
+    public PurchaseVerdict() {
+    }
+
+    public PurchaseVerdict(Long id, boolean isFraud) {
+        this.id = id;
+        this.isFraud = isFraud;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public boolean isFraud() {
+        return isFraud;
+    }
+
+    public void setFraud(boolean fraud) {
+        isFraud = fraud;
+    }
+}
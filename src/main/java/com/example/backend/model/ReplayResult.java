@@ -0,0 +1,116 @@
+package com.example.backend.model;
+
+import java.util.Map;
+
+public class ReplayResult {
+    private String modelVersion;
+    private long ruleSetVersion;
+    private long records;
+    private long recordedFraudCount;
+    private long replayedFraudCount;
+    private long verdictChanges;
+    // Keyed by the model version recorded with each decision
+    private Map<String, Long> verdictChangesByModelVersion;
+    private long fallbackRecords;
+    private long replayErrors;
+    private Map<String, Long> ruleHitChanges;
+    private long elapsedMillis;
+    private double recordsPerSecond;
+
+    // Getters and Setters
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public void setModelVersion(String modelVersion) {
+        this.modelVersion = modelVersion;
+    }
+
+    public long getRuleSetVersion() {
+        return ruleSetVersion;
+    }
+
+    public void setRuleSetVersion(long ruleSetVersion) {
+        this.ruleSetVersion = ruleSetVersion;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public void setRecords(long records) {
+        this.records = records;
+    }
+
+    public long getRecordedFraudCount() {
+        return recordedFraudCount;
+    }
+
+    public void setRecordedFraudCount(long recordedFraudCount) {
+        this.recordedFraudCount = recordedFraudCount;
+    }
+
+    public long getReplayedFraudCount() {
+        return replayedFraudCount;
+    }
+
+    public void setReplayedFraudCount(long replayedFraudCount) {
+        this.replayedFraudCount = replayedFraudCount;
+    }
+
+    public long getVerdictChanges() {
+        return verdictChanges;
+    }
+
+    public void setVerdictChanges(long verdictChanges) {
+        this.verdictChanges = verdictChanges;
+    }
+
+    public Map<String, Long> getVerdictChangesByModelVersion() {
+        return verdictChangesByModelVersion;
+    }
+
+    public void setVerdictChangesByModelVersion(Map<String, Long> verdictChangesByModelVersion) {
+        this.verdictChangesByModelVersion = verdictChangesByModelVersion;
+    }
+
+    public long getFallbackRecords() {
+        return fallbackRecords;
+    }
+
+    public void setFallbackRecords(long fallbackRecords) {
+        this.fallbackRecords = fallbackRecords;
+    }
+
+    public long getReplayErrors() {
+        return replayErrors;
+    }
+
+    public void setReplayErrors(long replayErrors) {
+        this.replayErrors = replayErrors;
+    }
+
+    public Map<String, Long> getRuleHitChanges() {
+        return ruleHitChanges;
+    }
+
+    public void setRuleHitChanges(Map<String, Long> ruleHitChanges) {
+        this.ruleHitChanges = ruleHitChanges;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRecordsPerSecond() {
+        return recordsPerSecond;
+    }
+
+    public void setRecordsPerSecond(double recordsPerSecond) {
+        this.recordsPerSecond = recordsPerSecond;
+    }
+}
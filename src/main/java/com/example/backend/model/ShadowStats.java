@@ -0,0 +1,86 @@
+package com.example.backend.model;
+
+public class ShadowStats {
+    private String modelVersion;
+    private long submitted;
+    private long dropped;
+    private long agreements;
+    private long disagreements;
+    private long errors;
+    private double averageLatencyMillis;
+    private double maxLatencyMillis;
+    private double p99LatencyMillis;
+
+    // Getters and Setters
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public void setModelVersion(String modelVersion) {
+        this.modelVersion = modelVersion;
+    }
+
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public void setSubmitted(long submitted) {
+        this.submitted = submitted;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public void setDropped(long dropped) {
+        this.dropped = dropped;
+    }
+
+    public long getAgreements() {
+        return agreements;
+    }
+
+    public void setAgreements(long agreements) {
+        this.agreements = agreements;
+    }
+
+    public long getDisagreements() {
+        return disagreements;
+    }
+
+    public void setDisagreements(long disagreements) {
+        this.disagreements = disagreements;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public void setErrors(long errors) {
+        this.errors = errors;
+    }
+
+    public double getAverageLatencyMillis() {
+        return averageLatencyMillis;
+    }
+
+    public void setAverageLatencyMillis(double averageLatencyMillis) {
+        this.averageLatencyMillis = averageLatencyMillis;
+    }
+
+    public double getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    public void setMaxLatencyMillis(double maxLatencyMillis) {
+        this.maxLatencyMillis = maxLatencyMillis;
+    }
+
+    public double getP99LatencyMillis() {
+        return p99LatencyMillis;
+    }
+
+    public void setP99LatencyMillis(double p99LatencyMillis) {
+        this.p99LatencyMillis = p99LatencyMillis;
+    }
+}
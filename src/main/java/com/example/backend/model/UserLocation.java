@@ -0,0 +1,34 @@
+package com.example.backend.model;
+
+import java.time.LocalDateTime;
+
+public class UserLocation {
+    private long geohash;
+    private LocalDateTime timestamp;
+
+    // Default constructor
+    public UserLocation() {
+    }
+
+    public UserLocation(long geohash, LocalDateTime timestamp) {
+        this.geohash = geohash;
+        this.timestamp = timestamp;
+    }
+
+    // Getters and Setters
+    public long getGeohash() {
+        return geohash;
+    }
+
+    public void setGeohash(long geohash) {
+        this.geohash = geohash;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.backend.service;
 
 import com.example.backend.model.Purchase;
+import com.example.backend.service.fraud.FraudDecision;
 import com.example.backend.service.fraud.FraudDetectionService;
+import com.example.backend.service.fraud.GeoVelocityAnalyzer;
+import com.example.backend.service.fraud.MerchantActivitySketches;
+import com.example.backend.service.fraud.ScoringWarmup;
+import com.example.backend.service.fraud.journal.DecisionJournal;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Service
@@ -13,22 +21,53 @@ public class PurchaseService {
     private final IgniteCache<Long, Purchase> purchaseCache;
     private final AtomicLong idGenerator = new AtomicLong(0);
     private final FraudDetectionService fraudDetectionService;
+    private final GeoVelocityAnalyzer geoVelocityAnalyzer;
+    private final MerchantActivitySketches merchantActivitySketches;
+    private final DecisionJournal decisionJournal;
+    private final ScoringWarmup scoringWarmup;
 
-    public PurchaseService(Ignite ignite, FraudDetectionService fraudDetectionService) {
+    public PurchaseService(Ignite ignite, FraudDetectionService fraudDetectionService,
+                           GeoVelocityAnalyzer geoVelocityAnalyzer,
+                           MerchantActivitySketches merchantActivitySketches,
+                           DecisionJournal decisionJournal, ScoringWarmup scoringWarmup) {
         this.purchaseCache = ignite.getOrCreateCache("purchaseCache");
         this.fraudDetectionService = fraudDetectionService;
+        this.geoVelocityAnalyzer = geoVelocityAnalyzer;
+        this.merchantActivitySketches = merchantActivitySketches;
+        this.decisionJournal = decisionJournal;
+        this.scoringWarmup = scoringWarmup;
     }
 
     public Purchase processPurchase(Purchase purchase) {
+        scorePurchase(purchase);
+        purchaseCache.put(purchase.getId(), purchase);
+        return purchase;
+    }
+
+    public List<Purchase> processPurchases(List<Purchase> purchases) {
+        Map<Long, Purchase> processed = new LinkedHashMap<>();
+        for (Purchase purchase : purchases) {
+            scorePurchase(purchase);
+            processed.put(purchase.getId(), purchase);
+        }
+
+        // Store the whole batch in one round trip to the cluster
+        purchaseCache.putAll(processed);
+        return purchases;
+    }
+
+    private void scorePurchase(Purchase purchase) {
         purchase.setId(idGenerator.incrementAndGet());
         purchase.setTimestamp(LocalDateTime.now());
         
         // Perform real-time fraud detection
-        boolean isFraudulent = fraudDetectionService.analyzeTransaction(purchase);
-        purchase.setFraud(isFraudulent);
-        
-        purchaseCache.put(purchase.getId(), purchase);
-        return purchase;
+        long start = System.nanoTime();
+        FraudDecision decision = fraudDetectionService.evaluateTransaction(purchase);
+        scoringWarmup.recordLiveLatency(System.nanoTime() - start);
+        purchase.setFraud(decision.isFraud());
+        decisionJournal.append(purchase, decision);
+        geoVelocityAnalyzer.recordLocation(purchase);
+        merchantActivitySketches.record(purchase);
     }
 
     public Purchase getPurchase(Long id) {
@@ -1,6 +1,7 @@
 package com.example.backend.service;
 
 import com.example.backend.model.User;
+import com.example.backend.service.fraud.CardLinkageGraph;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
 import org.springframework.stereotype.Service;
@@ -11,20 +12,24 @@ public class UserService {
     private final IgniteCache<Long, User> userCache;
     private final IgniteCache<String, Long> cardNumberToUserIdCache;
     private final AtomicLong idGenerator = new AtomicLong(0);
+    private final CardLinkageGraph cardLinkageGraph;
 
-    public UserService(Ignite ignite) {
+    public UserService(Ignite ignite, CardLinkageGraph cardLinkageGraph) {
         this.userCache = ignite.getOrCreateCache("userCache");
         this.cardNumberToUserIdCache = ignite.getOrCreateCache("cardNumberToUserIdCache");
+        this.cardLinkageGraph = cardLinkageGraph;
     }
 
     public User saveUser(User user) {
         user.setId(idGenerator.incrementAndGet());
         userCache.put(user.getId(), user);
         
-        // Map card numbers to user ID for quick lookup
-        user.getCardNumbers().forEach(cardNumber -> 
-            cardNumberToUserIdCache.put(cardNumber, user.getId())
-        );
+        // Map card numbers to user ID for quick lookup, and keep every
+        // card-user association so shared cards link users together
+        user.getCardNumbers().forEach(cardNumber -> {
+            cardNumberToUserIdCache.put(cardNumber, user.getId());
+            cardLinkageGraph.linkCard(cardNumber, user.getId());
+        });
         
         return user;
     }
@@ -0,0 +1,252 @@
+package com.example.backend.service.fraud;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CacheEntryProcessor;
+import org.apache.ignite.cache.query.ContinuousQuery;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.ScanQuery;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import javax.cache.Cache;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.processor.MutableEntry;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The CardLinkageGraph class keeps every card-to-user association and maintains connected
+ * components of users that share at least one card. Components are kept incrementally with
+ * a union-find structure, so the size and recent growth of a user's ring can be read in
+ * (near) constant time without recomputing the graph.
+ *
+ * The full linkage is stored in the "cardToUserIdsCache" Ignite cache and updated atomically with
+ * an entry processor. The union-find itself lives in memory on every node: a continuous query
+ * rebuilds it from the cache on startup and then feeds it every update to the cache, so cards
+ * linked through other nodes join components here as well. Registrations made on this node are
+ * applied right away too; applying a link twice has no effect.
+ */
+@Component
+public class CardLinkageGraph {
+    // Growth is an exponentially decayed count of users joining a component
+    private static final double GROWTH_HALF_LIFE_MILLIS = 60 * 60 * 1000.0; // 1 hour
+
+    private final IgniteCache<String, Set<Long>> cardToUserIdsCache;
+
+    private final Map<Long, Long> parent = new HashMap<>();
+    private final Map<Long, ComponentStats> componentStats = new HashMap<>();
+
+    private QueryCursor<Cache.Entry<String, Set<Long>>> linkageUpdates;
+
+    public CardLinkageGraph(Ignite ignite) {
+        this.cardToUserIdsCache = ignite.getOrCreateCache("cardToUserIdsCache");
+    }
+
+    @PostConstruct
+    public void init() {
+        ContinuousQuery<String, Set<Long>> query = new ContinuousQuery<>();
+        // The initial scan and the subscription are set up together, so no update falls between them
+        query.setInitialQuery(new ScanQuery<>());
+        query.setLocalListener(events -> {
+            long now = System.currentTimeMillis();
+            for (CacheEntryEvent<? extends String, ? extends Set<Long>> event : events) {
+                if (event.getValue() != null) {
+                    link(event.getValue(), now);
+                }
+            }
+        });
+        linkageUpdates = cardToUserIdsCache.query(query);
+
+        // Rebuild components from the persisted linkage, without counting it as growth
+        for (Cache.Entry<String, Set<Long>> entry : linkageUpdates) {
+            link(entry.getValue(), 0L);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (linkageUpdates != null) {
+            linkageUpdates.close();
+        }
+    }
+
+    /**
+     * Records that the given user holds the given card and merges the user into the component
+     * of every other user already linked to the card.
+     *
+     * @param cardNumber The card number being registered.
+     * @param userId     The ID of the user registering the card.
+     */
+    public void linkCard(String cardNumber, Long userId) {
+        // Read-modify-write on the owning node, so concurrent registrations of a card cannot lose links
+        Set<Long> userIds = cardToUserIdsCache.invoke(cardNumber, new AddUserProcessor(), userId);
+        link(userIds, System.currentTimeMillis());
+    }
+
+    /**
+     * Merges all given users, who share one card, into one component.
+     *
+     * @param userIds The IDs of every user linked to the card.
+     * @param now     The time of the link, or 0 if it must not count as growth.
+     */
+    synchronized void link(Collection<Long> userIds, long now) {
+        Long first = null;
+        for (Long userId : userIds) {
+            if (first == null) {
+                first = userId;
+                addUser(userId, now);
+            } else {
+                union(first, userId, now);
+            }
+        }
+    }
+
+    /**
+     * Returns every user that has registered the given card.
+     *
+     * @param cardNumber The card number to look up.
+     * @return The IDs of all users linked to the card, or an empty set if none.
+     */
+    public Set<Long> getUserIdsForCard(String cardNumber) {
+        Set<Long> userIds = cardToUserIdsCache.get(cardNumber);
+        return userIds != null ? userIds : Set.of();
+    }
+
+    /**
+     * Returns the size and recent growth of the given user's shared-card component, read together
+     * under one lock.
+     *
+     * @param userId The ID of the user.
+     * @return A ComponentSnapshot of the user's component.
+     */
+    public ComponentSnapshot getComponent(Long userId) {
+        return getComponent(userId, System.currentTimeMillis());
+    }
+
+    synchronized ComponentSnapshot getComponent(Long userId, long now) {
+        if (userId == null || !parent.containsKey(userId)) {
+            return new ComponentSnapshot(1, 0.0);
+        }
+        ComponentStats stats = componentStats.get(find(userId));
+        return new ComponentSnapshot(stats.size, stats.decayedGrowth(now));
+    }
+
+    private void addUser(Long userId, long now) {
+        if (!parent.containsKey(userId)) {
+            parent.put(userId, userId);
+            componentStats.put(userId, new ComponentStats(now));
+        }
+    }
+
+    private Long find(Long userId) {
+        Long root = userId;
+        while (!root.equals(parent.get(root))) {
+            root = parent.get(root);
+        }
+        // Path compression
+        Long current = userId;
+        while (!current.equals(root)) {
+            Long next = parent.get(current);
+            parent.put(current, root);
+            current = next;
+        }
+        return root;
+    }
+
+    private void union(Long a, Long b, long now) {
+        addUser(a, now);
+        addUser(b, now);
+        Long rootA = find(a);
+        Long rootB = find(b);
+        if (rootA.equals(rootB)) {
+            return;
+        }
+
+        // Union by size: attach the smaller component under the larger one
+        ComponentStats statsA = componentStats.get(rootA);
+        ComponentStats statsB = componentStats.get(rootB);
+        if (statsA.size < statsB.size) {
+            Long tmpRoot = rootA;
+            rootA = rootB;
+            rootB = tmpRoot;
+            ComponentStats tmpStats = statsA;
+            statsA = statsB;
+            statsB = tmpStats;
+        }
+
+        parent.put(rootB, rootA);
+        componentStats.remove(rootB);
+        statsA.merge(statsB, now);
+    }
+
+    /**
+     * The size of a shared-card component and how many users have recently joined it.
+     */
+    public static final class ComponentSnapshot {
+        private final int size;
+        private final double growthRate;
+
+        ComponentSnapshot(int size, double growthRate) {
+            this.size = size;
+            this.growthRate = growthRate;
+        }
+
+        /**
+         * @return The number of users in the component, 1 if the user has no linked cards yet.
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * @return The number of users that joined the component, decayed with a one hour half-life.
+         */
+        public double getGrowthRate() {
+            return growthRate;
+        }
+    }
+
+    private static class ComponentStats {
+        private int size = 1;
+        private double growth = 0.0;
+        private long lastUpdateMillis;
+
+        ComponentStats(long now) {
+            this.lastUpdateMillis = now;
+        }
+
+        void merge(ComponentStats other, long now) {
+            double otherGrowth = other.decayedGrowth(now);
+            growth = decayedGrowth(now) + otherGrowth;
+            if (now > 0) {
+                // Every user pulled in from the smaller component counts as a new join
+                growth += other.size;
+            }
+            size += other.size;
+            lastUpdateMillis = now;
+        }
+
+        double decayedGrowth(long now) {
+            if (now <= lastUpdateMillis) {
+                return growth;
+            }
+            return growth * Math.pow(0.5, (now - lastUpdateMillis) / GROWTH_HALF_LIFE_MILLIS);
+        }
+    }
+
+    private static class AddUserProcessor implements CacheEntryProcessor<String, Set<Long>, Set<Long>> {
+        @Override
+        public Set<Long> process(MutableEntry<String, Set<Long>> entry, Object... arguments) {
+            Set<Long> userIds = entry.exists() ? new HashSet<>(entry.getValue()) : new HashSet<>();
+            if (userIds.add((Long) arguments[0])) {
+                entry.setValue(userIds);
+            }
+            return userIds;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.backend.service.fraud;
+
+import com.example.backend.service.fraud.rules.FraudRuleSet;
+
+/**
+ * The outcome of analyzing a purchase: the verdict together with the feature vector, the risk
+ * rules that matched, the rule set they belong to and the model that produced it. A fallback
+ * decision was made by the amount threshold alone because the analysis failed.
+ */
+public class FraudDecision {
+    private final boolean fraud;
+    private final boolean firstPurchase;
+    private final double[] features;
+    private final long ruleHits;
+    private final FraudRuleSet ruleSet;
+    private final String modelVersion;
+    private final boolean fallback;
+
+    public FraudDecision(boolean fraud, boolean firstPurchase, double[] features, long ruleHits,
+                         FraudRuleSet ruleSet, String modelVersion) {
+        this(fraud, firstPurchase, features, ruleHits, ruleSet, modelVersion, false);
+    }
+
+    public FraudDecision(boolean fraud, boolean firstPurchase, double[] features, long ruleHits,
+                         FraudRuleSet ruleSet, String modelVersion, boolean fallback) {
+        this.fraud = fraud;
+        this.firstPurchase = firstPurchase;
+        this.features = features;
+        this.ruleHits = ruleHits;
+        this.ruleSet = ruleSet;
+        this.modelVersion = modelVersion;
+        this.fallback = fallback;
+    }
+
+    public boolean isFraud() {
+        return fraud;
+    }
+
+    public boolean isFirstPurchase() {
+        return firstPurchase;
+    }
+
+    /**
+     * @return The feature vector indexed by FraudFeature ordinals. Shared, not copied.
+     */
+    public double[] getFeatures() {
+        return features;
+    }
+
+    /**
+     * @return Bit i is set when the i-th rule of getRuleSet().getRiskRuleNames() matched.
+     */
+    public long getRuleHits() {
+        return ruleHits;
+    }
+
+    public FraudRuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public boolean isFallback() {
+        return fallback;
+    }
+}
@@ -2,17 +2,21 @@ package com.example.backend.service.fraud;
 
 import com.example.backend.model.Purchase;
 import com.example.backend.model.HistoricalAnalysis;
+import com.example.backend.service.fraud.rules.FraudFeature;
+import com.example.backend.service.fraud.rules.FraudRuleEngine;
+import com.example.backend.service.fraud.rules.FraudRuleSet;
 
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
 import org.springframework.stereotype.Service;
+import weka.classifiers.Classifier;
 import weka.classifiers.trees.RandomForest;
 import weka.core.DenseInstance;
 import weka.core.Instances;
 import weka.core.Attribute;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.time.LocalTime;
 import jakarta.annotation.PostConstruct;
 
@@ -22,9 +26,17 @@ import jakarta.annotation.PostConstruct;
  */
 @Service
 public class FraudDetectionService {
+    // Identifies the in-process model in recorded decisions
+    public static final String MODEL_VERSION = "random-forest-v1";
+
     private RandomForest classifier;
     private Instances dataStructure;
     final TransactionHistoryAnalyzer historyAnalyzer;
+    final CardLinkageGraph cardLinkageGraph;
+    final GeoVelocityAnalyzer geoVelocityAnalyzer;
+    final ShadowModelEvaluator shadowModelEvaluator;
+    final MerchantActivitySketches merchantActivitySketches;
+    final FraudRuleEngine ruleEngine;
 
     @PostConstruct
     public void init() {
@@ -97,10 +109,24 @@ public class FraudDetectionService {
      *
      * @param ignite          An instance of Ignite used to initialize the caches.
      * @param historyAnalyzer An instance of TransactionHistoryAnalyzer used for historical analysis.
+     * @param cardLinkageGraph An instance of CardLinkageGraph used to look up shared-card rings.
+     * @param geoVelocityAnalyzer An instance of GeoVelocityAnalyzer used to detect impossible travel.
+     * @param shadowModelEvaluator An instance of ShadowModelEvaluator used to score a candidate model off the live path.
+     * @param merchantActivitySketches An instance of MerchantActivitySketches used for distinct-merchant counts.
+     * @param ruleEngine An instance of FraudRuleEngine providing the active fraud rules.
      */
-    public FraudDetectionService(Ignite ignite, TransactionHistoryAnalyzer historyAnalyzer) {
+    public FraudDetectionService(Ignite ignite, TransactionHistoryAnalyzer historyAnalyzer,
+                                 CardLinkageGraph cardLinkageGraph, GeoVelocityAnalyzer geoVelocityAnalyzer,
+                                 ShadowModelEvaluator shadowModelEvaluator,
+                                 MerchantActivitySketches merchantActivitySketches,
+                                 FraudRuleEngine ruleEngine) {
         this.userTransactionCache = ignite.getOrCreateCache("userTransactionCache");
         this.historyAnalyzer = historyAnalyzer;
+        this.cardLinkageGraph = cardLinkageGraph;
+        this.geoVelocityAnalyzer = geoVelocityAnalyzer;
+        this.shadowModelEvaluator = shadowModelEvaluator;
+        this.merchantActivitySketches = merchantActivitySketches;
+        this.ruleEngine = ruleEngine;
     }
 
     /**
@@ -109,85 +135,152 @@ public class FraudDetectionService {
      * @param purchase An instance of Purchase representing the transaction to be analyzed.
      * @return A boolean indicating whether the transaction is fraudulent.
      */
-    // Update thresholds
-    private static final double SUSPICIOUS_AMOUNT_THRESHOLD = 2000.0; // Lower to more realistic value
-    private static final double HIGH_FREQUENCY_THRESHOLD = 0.6;
-    private static final int SUSPICIOUS_TIME_WINDOW = 24; // hours
-
     public boolean analyzeTransaction(Purchase purchase) {
+        return evaluateTransaction(purchase).isFraud();
+    }
+
+    /**
+     * Analyzes the given transaction and returns the verdict along with the features and rules behind it.
+     *
+     * @param purchase An instance of Purchase representing the transaction to be analyzed.
+     * @return A FraudDecision describing the verdict.
+     */
+    public FraudDecision evaluateTransaction(Purchase purchase) {
+        return evaluateTransaction(purchase, true);
+    }
+
+    /**
+     * Analyzes the given transaction, optionally without scoring it with the candidate model, e.g. for
+     * synthetic traffic that must not count towards the candidate's statistics.
+     *
+     * @param purchase      An instance of Purchase representing the transaction to be analyzed.
+     * @param shadowScoring Whether to also score the purchase with the candidate model.
+     * @return A FraudDecision describing the verdict.
+     */
+    public FraudDecision evaluateTransaction(Purchase purchase, boolean shadowScoring) {
+        // Read the rule set once so a reload cannot change rules mid-decision
+        FraudRuleSet rules = ruleEngine.getRuleSet();
+        double[] features = new double[FraudFeature.COUNT];
+        boolean isFirstPurchase = false;
         try {
-            HistoricalAnalysis history = historyAnalyzer.analyzeUserHistory(purchase);
-            boolean isFirstPurchase = isFirstPurchaseForUser(purchase.getUserId());
+            HistoricalAnalysis history = historyAnalyzer.analyzeUserHistory(purchase, rules);
+            isFirstPurchase = isFirstPurchaseForUser(purchase.getUserId());
 
             // ML model prediction
-            double[] values = new double[dataStructure.numAttributes()];
-            values[0] = normalizeUserId(purchase.getUserId());
-            values[1] = normalizeAmount(purchase.getAmount());
-            values[2] = normalizeHour(LocalTime.from(purchase.getTimestamp()));
-            values[3] = history.getPurchaseFrequencyScore();
-
-            DenseInstance instance = new DenseInstance(1.0, values);
-            instance.setDataset(dataStructure);
-            double mlPrediction = classifier.classifyInstance(instance);
-
-            // Enhanced fraud detection logic
-            if (isFirstPurchase) {
-                // For first purchase, check only basic risk factors
-                return purchase.getAmount() > SUSPICIOUS_AMOUNT_THRESHOLD || 
-                       isUnusualPurchaseTime(purchase.getTimestamp().getHour());
+            double[] values = modelInputs(purchase.getUserId(), purchase.getAmount(),
+                    purchase.getTimestamp().getHour(), history.getPurchaseFrequencyScore());
+            double mlPrediction = classify(classifier, values);
+
+            // Score the same features with the candidate model, off the request thread
+            if (shadowScoring) {
+                shadowModelEvaluator.submit(values, dataStructure, mlPrediction);
             }
 
-            // Combine multiple risk factors
-            int riskFactors = 0;
-            if (mlPrediction == 1.0) riskFactors++;
-            if (isTransactionSuspicious(purchase, history)) riskFactors++;
-            if (history.getPurchaseFrequencyScore() > HIGH_FREQUENCY_THRESHOLD) riskFactors++;
-            if (isLocationSuspicious(purchase)) riskFactors++;
-            if (history.getUnusualPatternScore() > 0.7) riskFactors++;
+            features[FraudFeature.AMOUNT.ordinal()] = purchase.getAmount();
+            features[FraudFeature.HOUR_OF_DAY.ordinal()] = purchase.getTimestamp().getHour();
+            features[FraudFeature.ML_PREDICTION.ordinal()] = mlPrediction;
+            features[FraudFeature.FREQUENCY_SCORE.ordinal()] = history.getPurchaseFrequencyScore();
 
-            // Mark as fraud if multiple risk factors are present
-            return riskFactors >= 2;
+            if (!isFirstPurchase) {
+                addHistoryFeatures(features, purchase, history);
+            }
+            return decide(rules, features, isFirstPurchase, MODEL_VERSION);
 
         } catch (Exception e) {
-            return handleAnalysisError(purchase, e);
+            return new FraudDecision(handleAnalysisError(purchase.getAmount(), rules, e), isFirstPurchase, features, 0L,
+                    rules, MODEL_VERSION, true);
         }
     }
 
-    private boolean isUnusualPurchaseTime(int hour) {
-        // Consider early morning hours (2 AM - 5 AM) as unusual
-        return hour >= 2 && hour <= 5;
+    /**
+     * Returns the in-process model used for live decisions.
+     *
+     * @return The live ScoringModel.
+     */
+    public ScoringModel getLiveModel() {
+        return new ScoringModel(classifier, MODEL_VERSION);
     }
 
-    private boolean isTransactionSuspicious(Purchase purchase, HistoricalAnalysis history) {
-        List<Purchase> userHistory = getUserTransactionHistory(purchase.getUserId());
-        
-        if (userHistory == null || userHistory.isEmpty()) {
-            return purchase.getAmount() > SUSPICIOUS_AMOUNT_THRESHOLD;
+    /**
+     * Decides a recorded purchase again from the features recorded with it, using the given model
+     * and the current rules. Nothing is read from the user's current history, location or card ring,
+     * so the result differs from the recorded verdict only where the model or the rules changed. The
+     * model is called on the calling thread; nothing is submitted for shadow scoring.
+     *
+     * @param userId           The ID of the user who made the recorded purchase.
+     * @param recordedFeatures The recorded feature vector, indexed by FraudFeature ordinals.
+     * @param firstPurchase    Whether the purchase was recorded as the user's first.
+     * @param model            The model to predict with, e.g. getLiveModel() or a candidate.
+     * @return A FraudDecision with the recorded features and a fresh ML prediction.
+     */
+    public FraudDecision replayDecision(Long userId, double[] recordedFeatures, boolean firstPurchase,
+                                        ScoringModel model) {
+        FraudRuleSet rules = ruleEngine.getRuleSet();
+        double[] features = Arrays.copyOf(recordedFeatures, FraudFeature.COUNT);
+        double amount = features[FraudFeature.AMOUNT.ordinal()];
+        try {
+            double[] values = modelInputs(userId, amount, (int) features[FraudFeature.HOUR_OF_DAY.ordinal()],
+                    features[FraudFeature.FREQUENCY_SCORE.ordinal()]);
+            features[FraudFeature.ML_PREDICTION.ordinal()] = classify(model.getClassifier(), values);
+            return decide(rules, features, firstPurchase, model.getVersion());
+        } catch (Exception e) {
+            return new FraudDecision(handleAnalysisError(amount, rules, e), firstPurchase, features, 0L, rules,
+                    model.getVersion(), true);
         }
+    }
 
-        // Check multiple suspicious factors
-        int suspiciousFactors = 0;
-
-        // Amount check
-        double userAvgAmount = history.getAverageAmount();
-        double userStdDev = history.getStandardDeviation();
-        if (purchase.getAmount() > userAvgAmount + (2 * userStdDev)) {
-            suspiciousFactors++;
+    private FraudDecision decide(FraudRuleSet rules, double[] features, boolean firstPurchase, String modelVersion) {
+        if (firstPurchase) {
+            // For first purchase, check only basic risk factors
+            return new FraudDecision(rules.isFirstPurchaseFraud(features), true, features, 0L, rules, modelVersion);
         }
+        long ruleHits = rules.matchRiskRules(features);
+        return new FraudDecision(rules.isFraud(ruleHits), false, features, ruleHits, rules, modelVersion);
+    }
 
-        // Time pattern check
-        int hour = purchase.getTimestamp().getHour();
-        Map<Integer, Integer> typicalHours = history.getTypicalPurchaseHours();
-        if (!typicalHours.containsKey(hour) || typicalHours.get(hour) < 2) {
-            suspiciousFactors++;
-        }
+    private double[] modelInputs(Long userId, double amount, int hour, double frequency) {
+        double[] values = new double[dataStructure.numAttributes()];
+        values[0] = normalizeUserId(userId);
+        values[1] = normalizeAmount(amount);
+        values[2] = normalizeHour(LocalTime.of(hour, 0));
+        values[3] = frequency;
+        return values;
+    }
 
-        // Frequency check
-        if (history.getPurchaseFrequencyScore() > HIGH_FREQUENCY_THRESHOLD) {
-            suspiciousFactors++;
-        }
+    private double classify(Classifier model, double[] values) throws Exception {
+        DenseInstance instance = new DenseInstance(1.0, values);
+        instance.setDataset(dataStructure);
+        return model.classifyInstance(instance);
+    }
+
+    private void addHistoryFeatures(double[] features, Purchase purchase, HistoricalAnalysis history) {
+        features[FraudFeature.UNUSUAL_PATTERN_SCORE.ordinal()] = history.getUnusualPatternScore();
+        features[FraudFeature.AMOUNT_ZSCORE.ordinal()] =
+                amountZScore(purchase.getAmount(), history.getAverageAmount(), history.getStandardDeviation());
+        features[FraudFeature.HOUR_PURCHASE_COUNT.ordinal()] =
+                history.getTypicalPurchaseHours().getOrDefault(purchase.getTimestamp().getHour(), 0);
+
+        // Impossible travel: distance from the user's last known location
+        // could not have been covered since their last purchase
+        features[FraudFeature.IMPOSSIBLE_TRAVEL.ordinal()] = geoVelocityAnalyzer.isImpossibleTravel(purchase) ? 1.0 : 0.0;
+
+        // Users sharing cards with many others, or whose ring is growing fast,
+        // are typical of account takeover rings
+        CardLinkageGraph.ComponentSnapshot ring = cardLinkageGraph.getComponent(purchase.getUserId());
+        features[FraudFeature.CARD_RING_SIZE.ordinal()] = ring.getSize();
+        features[FraudFeature.CARD_RING_GROWTH.ordinal()] = ring.getGrowthRate();
+        features[FraudFeature.CARD_MERCHANT_SPREAD.ordinal()] =
+                merchantActivitySketches.getDistinctMerchantsForCard(purchase.getCardNumber());
+        features[FraudFeature.USER_MERCHANT_SPREAD.ordinal()] =
+                merchantActivitySketches.getDistinctMerchantsForUser(purchase.getUserId());
+    }
 
-        return suspiciousFactors >= 2;
+    private double amountZScore(double amount, double average, double standardDeviation) {
+        if (standardDeviation > 0) {
+            return (amount - average) / standardDeviation;
+        }
+        // No spread in history: any amount above the average is infinitely unusual
+        return amount > average ? Double.POSITIVE_INFINITY : 0.0;
     }
 
     private boolean isFirstPurchaseForUser(Long userId) {
@@ -196,34 +289,15 @@ public class FraudDetectionService {
     }
 
 
-    private boolean isLocationSuspicious(Purchase purchase) {
-        List<Purchase> userHistory = getUserTransactionHistory(purchase.getUserId());
-        if (userHistory == null || userHistory.isEmpty()) {
-            return false;
-        }
-
-        // Get user's last transaction location
-        Purchase lastTransaction = userHistory.get(userHistory.size() - 1);
-
-        // Check if location changed too quickly (impossible travel)
-        if (lastTransaction != null &&
-                lastTransaction.getTimestamp().plusHours(2).isAfter(purchase.getTimestamp())) {
-            // Simple distance check (should be replaced with actual geo calculation)
-            return !lastTransaction.getMerchantName().equals(purchase.getMerchantName());
-        }
-
-        return false;
-    }
-
     private List<Purchase> getUserTransactionHistory(Long userId) {
         return userTransactionCache.get(userId);
     }
 
-    private boolean handleAnalysisError(Purchase purchase, Exception e) {
+    private boolean handleAnalysisError(double amount, FraudRuleSet rules, Exception e) {
         // Log the error
         System.err.println("Error analyzing transaction: " + e.getMessage());
         // In case of error, flag high-value transactions as suspicious
-        return purchase.getAmount() > SUSPICIOUS_AMOUNT_THRESHOLD;
+        return amount > rules.getFallbackAmountThreshold();
     }
 
     private double normalizeAmount(double amount) {
@@ -0,0 +1,75 @@
+package com.example.backend.service.fraud;
+
+import com.example.backend.model.Purchase;
+import com.example.backend.model.UserLocation;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * The GeoVelocityAnalyzer class detects impossible travel by comparing the location of the merchant
+ * in the current purchase with the user's last known location. The last location is kept per user in
+ * the "userLastLocationCache" Ignite cache, so the check is a single lookup with no history scan.
+ */
+@Component
+public class GeoVelocityAnalyzer {
+    private static final double MAX_TRAVEL_SPEED_KMH = 900.0; // roughly a commercial flight
+    private static final double LOCAL_DISTANCE_KM = 50.0; // same city, never flagged
+
+    private final MerchantLocationIndex merchantLocationIndex;
+    private final IgniteCache<Long, UserLocation> userLastLocationCache;
+
+    public GeoVelocityAnalyzer(Ignite ignite, MerchantLocationIndex merchantLocationIndex) {
+        this.userLastLocationCache = ignite.getOrCreateCache("userLastLocationCache");
+        this.merchantLocationIndex = merchantLocationIndex;
+    }
+
+    /**
+     * Checks whether travelling from the user's last known location to the merchant of the given
+     * purchase would require an impossible speed.
+     *
+     * @param purchase The purchase being analyzed.
+     * @return true if the implied travel speed is impossible, false otherwise or if either location is unknown.
+     */
+    public boolean isImpossibleTravel(Purchase purchase) {
+        Long currentGeohash = merchantLocationIndex.getGeohash(purchase.getMerchantName());
+        if (currentGeohash == null || purchase.getUserId() == null) {
+            return false;
+        }
+
+        UserLocation lastLocation = userLastLocationCache.get(purchase.getUserId());
+        if (lastLocation == null || lastLocation.getTimestamp() == null) {
+            return false;
+        }
+
+        double distanceKm = merchantLocationIndex.distanceKm(lastLocation.getGeohash(), currentGeohash);
+        if (distanceKm <= LOCAL_DISTANCE_KM) {
+            return false;
+        }
+
+        double hours = Duration.between(lastLocation.getTimestamp(), purchase.getTimestamp()).toMillis() / 3_600_000.0;
+        if (hours < 0) {
+            // Purchase predates the last known location, so it says nothing about travel since
+            return false;
+        }
+        if (hours == 0) {
+            return true;
+        }
+        return distanceKm / hours > MAX_TRAVEL_SPEED_KMH;
+    }
+
+    /**
+     * Records the merchant location of the given purchase as the user's last known location.
+     * Purchases at merchants with an unknown location leave the last location unchanged.
+     *
+     * @param purchase The purchase that was processed.
+     */
+    public void recordLocation(Purchase purchase) {
+        Long geohash = merchantLocationIndex.getGeohash(purchase.getMerchantName());
+        if (geohash != null && purchase.getUserId() != null) {
+            userLastLocationCache.put(purchase.getUserId(), new UserLocation(geohash, purchase.getTimestamp()));
+        }
+    }
+}
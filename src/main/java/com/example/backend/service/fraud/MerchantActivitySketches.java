@@ -0,0 +1,183 @@
+package com.example.backend.service.fraud;
+
+import com.example.backend.model.MerchantCount;
+import com.example.backend.model.Purchase;
+import com.example.backend.service.fraud.sketch.CountMinSketch;
+import com.example.backend.service.fraud.sketch.HyperLogLog;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The MerchantActivitySketches class maintains fixed-size probabilistic summaries of merchant
+ * activity on ingest, so FraudDetectionService can query them in constant time without scanning
+ * purchase history:
+ * - a HyperLogLog of distinct merchants per user and per card, over hourly windows
+ * - a count-min sketch with a top-K heap of the globally busiest merchants, halved every window
+ *
+ * Distinct counts cover the current and the previous window, so a window boundary never hides
+ * recent activity. Each counter uses 64 one-byte registers per window (~13% standard error, exact
+ * enough for the single-digit thresholds used in rules), about 128 bytes per active user or card.
+ * A background task decays the global counts and drops counters idle for two windows, so no
+ * request thread pays for the sweep.
+ */
+@Component
+public class MerchantActivitySketches {
+    private static final long WINDOW_MILLIS = 60 * 60 * 1000L; // 1 hour
+    private static final long MAINTENANCE_INTERVAL_MILLIS = 60 * 1000L;
+    private static final int HLL_PRECISION = 6; // 64 bytes per window
+    private static final int CMS_DEPTH = 4;
+    private static final int CMS_WIDTH = 2048;
+    private static final int TOP_MERCHANTS = 10;
+
+    private final Map<Long, WindowedDistinctCounter> userMerchants = new ConcurrentHashMap<>();
+    private final Map<String, WindowedDistinctCounter> cardMerchants = new ConcurrentHashMap<>();
+    private final CountMinSketch globalMerchants = new CountMinSketch(CMS_DEPTH, CMS_WIDTH, TOP_MERCHANTS);
+    private volatile long globalWindow = currentWindow();
+    private ScheduledExecutorService maintenance;
+
+    @PostConstruct
+    public void init() {
+        maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "merchant-sketch-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.scheduleWithFixedDelay(() -> advanceWindow(currentWindow()),
+                MAINTENANCE_INTERVAL_MILLIS, MAINTENANCE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        maintenance.shutdownNow();
+    }
+
+    /**
+     * Records the merchant of the given purchase for its user, its card and the global counts.
+     *
+     * @param purchase The purchase that was processed.
+     */
+    public void record(Purchase purchase) {
+        String merchantName = purchase.getMerchantName();
+        if (merchantName == null) {
+            return;
+        }
+
+        long window = currentWindow();
+        // Add inside compute so the background sweep cannot evict a counter while it is updated
+        if (purchase.getUserId() != null) {
+            userMerchants.compute(purchase.getUserId(), (k, counter) -> add(counter, merchantName, window));
+        }
+        if (purchase.getCardNumber() != null) {
+            cardMerchants.compute(purchase.getCardNumber(), (k, counter) -> add(counter, merchantName, window));
+        }
+        synchronized (globalMerchants) {
+            globalMerchants.add(merchantName);
+        }
+    }
+
+    /**
+     * Returns the estimated number of distinct merchants the user bought from in the last one to two hours.
+     *
+     * @param userId The ID of the user.
+     * @return The estimated distinct merchant count.
+     */
+    public long getDistinctMerchantsForUser(Long userId) {
+        WindowedDistinctCounter counter = userId != null ? userMerchants.get(userId) : null;
+        return counter != null ? counter.estimate(currentWindow()) : 0L;
+    }
+
+    /**
+     * Returns the estimated number of distinct merchants the card was used at in the last one to two hours.
+     *
+     * @param cardNumber The card number.
+     * @return The estimated distinct merchant count.
+     */
+    public long getDistinctMerchantsForCard(String cardNumber) {
+        WindowedDistinctCounter counter = cardNumber != null ? cardMerchants.get(cardNumber) : null;
+        return counter != null ? counter.estimate(currentWindow()) : 0L;
+    }
+
+    /**
+     * Returns the busiest merchants right now, most purchases first.
+     *
+     * @return The top merchants and their estimated decayed counts.
+     */
+    public List<MerchantCount> getTopMerchants() {
+        synchronized (globalMerchants) {
+            return globalMerchants.topK().stream()
+                    .map(entry -> new MerchantCount(entry.getKey(), entry.getValue()))
+                    .toList();
+        }
+    }
+
+    private void advanceWindow(long window) {
+        if (window <= globalWindow) {
+            return;
+        }
+        synchronized (globalMerchants) {
+            // Halve global counts once per elapsed window (at most until they are empty)
+            for (long w = globalWindow; w < window && w < globalWindow + 64; w++) {
+                globalMerchants.decay();
+            }
+            globalWindow = window;
+        }
+        evictIdle(userMerchants, window);
+        evictIdle(cardMerchants, window);
+    }
+
+    private static <K> void evictIdle(Map<K, WindowedDistinctCounter> counters, long window) {
+        for (K key : counters.keySet()) {
+            counters.computeIfPresent(key, (k, counter) -> counter.isIdle(window) ? null : counter);
+        }
+    }
+
+    private static WindowedDistinctCounter add(WindowedDistinctCounter counter, String value, long window) {
+        if (counter == null) {
+            counter = new WindowedDistinctCounter(window);
+        }
+        counter.add(value, window);
+        return counter;
+    }
+
+    private static long currentWindow() {
+        return System.currentTimeMillis() / WINDOW_MILLIS;
+    }
+
+    private static class WindowedDistinctCounter {
+        private long window;
+        private HyperLogLog current = new HyperLogLog(HLL_PRECISION);
+        private HyperLogLog previous;
+
+        WindowedDistinctCounter(long window) {
+            this.window = window;
+        }
+
+        synchronized void add(String value, long now) {
+            if (now > window) {
+                previous = now == window + 1 ? current : null;
+                current = new HyperLogLog(HLL_PRECISION);
+                window = now;
+            }
+            current.add(value);
+        }
+
+        synchronized long estimate(long now) {
+            if (now == window) {
+                return current.estimate(previous);
+            }
+            return now == window + 1 ? current.estimate(null) : 0L;
+        }
+
+        synchronized boolean isIdle(long now) {
+            return now > window + 1;
+        }
+    }
+}
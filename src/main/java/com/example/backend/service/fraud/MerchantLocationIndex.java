@@ -0,0 +1,207 @@
+package com.example.backend.service.fraud;
+
+import com.example.backend.model.MerchantLocation;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The MerchantLocationIndex class holds merchant locations in memory as 52-bit binary geohashes
+ * (26 bits each for latitude and longitude, roughly metre precision), so each merchant costs a
+ * single long. Merchants are also bucketed by a coarse geohash prefix of a few kilometres, which
+ * allows nearby merchants to be found by looking at a cell and its neighbours only.
+ *
+ * Locations are seeded from "merchants.csv" on the classpath and can be added at runtime.
+ */
+@Component
+public class MerchantLocationIndex {
+    private static final int BITS_PER_AXIS = 26;
+    private static final int CELL_BITS_PER_AXIS = 12; // ~5 km of latitude per cell
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final Map<String, Long> merchantGeohashes = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> merchantsByCell = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        ClassPathResource resource = new ClassPathResource("merchants.csv");
+        if (!resource.exists()) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split(",");
+                addMerchant(new MerchantLocation(parts[0].trim(),
+                        Double.parseDouble(parts[1].trim()), Double.parseDouble(parts[2].trim())));
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new RuntimeException("Failed to load merchant locations", e);
+        }
+    }
+
+    /**
+     * Adds or moves a merchant in the index.
+     *
+     * @param location The merchant name and coordinates.
+     * @throws IllegalArgumentException if the name is missing or the coordinates are out of range.
+     */
+    public void addMerchant(MerchantLocation location) {
+        if (location == null || location.getMerchantName() == null || location.getMerchantName().isBlank()) {
+            throw new IllegalArgumentException("Merchant name is required");
+        }
+        // Negated comparisons also reject NaN
+        if (!(location.getLatitude() >= -90.0 && location.getLatitude() <= 90.0)) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90: " + location.getLatitude());
+        }
+        if (!(location.getLongitude() >= -180.0 && location.getLongitude() <= 180.0)) {
+            throw new IllegalArgumentException("Longitude must be between -180 and 180: " + location.getLongitude());
+        }
+        long geohash = encode(location.getLatitude(), location.getLongitude());
+        Long previous = merchantGeohashes.put(location.getMerchantName(), geohash);
+        if (previous != null) {
+            Set<String> previousCell = merchantsByCell.get(cellOf(previous));
+            if (previousCell != null) {
+                previousCell.remove(location.getMerchantName());
+            }
+        }
+        merchantsByCell.computeIfAbsent(cellOf(geohash), k -> ConcurrentHashMap.newKeySet())
+                .add(location.getMerchantName());
+    }
+
+    /**
+     * Returns the geohash of the given merchant.
+     *
+     * @param merchantName The merchant name.
+     * @return The merchant's geohash, or null if the merchant location is unknown.
+     */
+    public Long getGeohash(String merchantName) {
+        return merchantName != null ? merchantGeohashes.get(merchantName) : null;
+    }
+
+    /**
+     * Returns the names of all merchants with a known location.
+     *
+     * @return The merchant names.
+     */
+    public List<String> getMerchantNames() {
+        return new ArrayList<>(merchantGeohashes.keySet());
+    }
+
+    /**
+     * Returns the location of the given merchant.
+     *
+     * @param merchantName The merchant name.
+     * @return The merchant location, or null if the merchant location is unknown.
+     */
+    public MerchantLocation getLocation(String merchantName) {
+        Long geohash = getGeohash(merchantName);
+        if (geohash == null) {
+            return null;
+        }
+        return new MerchantLocation(merchantName, decodeLatitude(geohash), decodeLongitude(geohash));
+    }
+
+    /**
+     * Finds merchants in the geohash cell containing the given point and its eight neighbours.
+     *
+     * @param latitude  The latitude of the point.
+     * @param longitude The longitude of the point.
+     * @return The names of the merchants close to the point.
+     */
+    public List<String> findNearbyMerchants(double latitude, double longitude) {
+        double cellLatitude = 180.0 / (1 << CELL_BITS_PER_AXIS);
+        double cellLongitude = 360.0 / (1 << CELL_BITS_PER_AXIS);
+        List<String> merchants = new ArrayList<>();
+        for (int dLat = -1; dLat <= 1; dLat++) {
+            for (int dLon = -1; dLon <= 1; dLon++) {
+                double lat = latitude + dLat * cellLatitude;
+                double lon = longitude + dLon * cellLongitude;
+                if (lat < -90.0 || lat > 90.0) {
+                    continue;
+                }
+                // Wrap around the antimeridian
+                lon = ((lon + 540.0) % 360.0) - 180.0;
+                Set<String> cell = merchantsByCell.get(cellOf(encode(lat, lon)));
+                if (cell != null) {
+                    merchants.addAll(cell);
+                }
+            }
+        }
+        return merchants;
+    }
+
+    /**
+     * Calculates the great-circle distance between two geohashes using the haversine formula.
+     *
+     * @param geohashA The first geohash.
+     * @param geohashB The second geohash.
+     * @return The distance in kilometres.
+     */
+    public double distanceKm(long geohashA, long geohashB) {
+        double lat1 = Math.toRadians(decodeLatitude(geohashA));
+        double lat2 = Math.toRadians(decodeLatitude(geohashB));
+        double dLat = lat2 - lat1;
+        double dLon = Math.toRadians(decodeLongitude(geohashB) - decodeLongitude(geohashA));
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                   Math.cos(lat1) * Math.cos(lat2) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private long cellOf(long geohash) {
+        return geohash >>> (2 * (BITS_PER_AXIS - CELL_BITS_PER_AXIS));
+    }
+
+    private long encode(double latitude, double longitude) {
+        long latBits = quantize(latitude, -90.0, 90.0);
+        long lonBits = quantize(longitude, -180.0, 180.0);
+        // Interleave bits, longitude first as in standard geohash
+        long geohash = 0L;
+        for (int i = BITS_PER_AXIS - 1; i >= 0; i--) {
+            geohash = (geohash << 1) | ((lonBits >>> i) & 1L);
+            geohash = (geohash << 1) | ((latBits >>> i) & 1L);
+        }
+        return geohash;
+    }
+
+    private double decodeLatitude(long geohash) {
+        return dequantize(deinterleave(geohash), -90.0, 90.0);
+    }
+
+    private double decodeLongitude(long geohash) {
+        return dequantize(deinterleave(geohash >>> 1), -180.0, 180.0);
+    }
+
+    private long deinterleave(long bits) {
+        long value = 0L;
+        for (int i = 0; i < BITS_PER_AXIS; i++) {
+            value |= ((bits >>> (2 * i)) & 1L) << i;
+        }
+        return value;
+    }
+
+    private long quantize(double value, double min, double max) {
+        long maxCell = (1L << BITS_PER_AXIS) - 1;
+        return Math.min(maxCell, (long) ((value - min) / (max - min) * (1L << BITS_PER_AXIS)));
+    }
+
+    private double dequantize(long cell, double min, double max) {
+        // Return the centre of the cell
+        return min + (cell + 0.5) * (max - min) / (1L << BITS_PER_AXIS);
+    }
+}
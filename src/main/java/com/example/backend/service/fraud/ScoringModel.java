@@ -0,0 +1,45 @@
+package com.example.backend.service.fraud;
+
+import weka.classifiers.Classifier;
+import weka.core.SerializationHelper;
+
+/**
+ * A classifier together with the version label recorded with the decisions it makes.
+ */
+public class ScoringModel {
+    private final Classifier classifier;
+    private final String version;
+
+    public ScoringModel(Classifier classifier, String version) {
+        this.classifier = classifier;
+        this.version = version;
+    }
+
+    /**
+     * Loads a serialized Weka classifier; its path serves as the version label.
+     *
+     * @param path The path of the serialized classifier on this server.
+     * @return The loaded ScoringModel.
+     * @throws IllegalArgumentException if the file cannot be read or does not hold a classifier.
+     */
+    public static ScoringModel load(String path) {
+        Object model;
+        try {
+            model = SerializationHelper.read(path);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Failed to load model from " + path + ": " + e.getMessage(), e);
+        }
+        if (!(model instanceof Classifier classifier)) {
+            throw new IllegalArgumentException("Not a Weka classifier: " + path);
+        }
+        return new ScoringModel(classifier, path);
+    }
+
+    public Classifier getClassifier() {
+        return classifier;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.backend.service.fraud;
+
+import com.example.backend.model.Purchase;
+import com.example.backend.model.User;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.ScanQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The ScoringWarmup class exercises the scoring path before the instance reports itself ready.
+ * It preloads user profiles, card mappings and histories from Ignite to open connections and warm
+ * the marshallers, then runs synthetic purchases through FraudDetectionService in batches until the
+ * batch p99 latency stabilizes, so the JIT and the Weka forest are hot. Synthetic purchases are not
+ * scored by the candidate model, so they never show up in shadow statistics.
+ *
+ * It runs as an ApplicationRunner, and Spring Boot only switches readiness to ACCEPTING_TRAFFIC
+ * once all runners have finished. A failing warm-up is logged and the instance still becomes ready,
+ * only colder; the "scoringWarmup" health component then reports it as degraded. The p99 of the
+ * first live purchases is logged afterwards so the effect of warm-up can be compared with the cold p99.
+ */
+@Component
+public class ScoringWarmup implements ApplicationRunner, HealthIndicator {
+    private static final int EARLY_TRAFFIC_SAMPLES = 1000;
+    private static final int STABLE_BATCHES_REQUIRED = 3;
+
+    private final FraudDetectionService fraudDetectionService;
+    private final MerchantLocationIndex merchantLocationIndex;
+    private final IgniteCache<Long, User> userCache;
+    private final IgniteCache<String, Long> cardNumberToUserIdCache;
+    private final IgniteCache<Long, List<Purchase>> userTransactionCache;
+
+    private final boolean enabled;
+    private final int preloadUsers;
+    private final int batchSize;
+    private final long maxDurationMillis;
+    private final double stableTolerance;
+
+    private final AtomicLongArray earlyLatencies = new AtomicLongArray(EARLY_TRAFFIC_SAMPLES);
+    // Slots handed out to live purchases, and slots whose latency has been stored
+    private final AtomicInteger earlySamples = new AtomicInteger();
+    private final AtomicInteger earlySamplesRecorded = new AtomicInteger();
+    private volatile double coldP99Millis;
+    private volatile boolean completed;
+    private volatile String failure;
+
+    public ScoringWarmup(Ignite ignite, FraudDetectionService fraudDetectionService,
+                         MerchantLocationIndex merchantLocationIndex,
+                         @Value("${fraud.warmup.enabled:true}") boolean enabled,
+                         @Value("${fraud.warmup.preload-users:1000}") int preloadUsers,
+                         @Value("${fraud.warmup.batch-size:200}") int batchSize,
+                         @Value("${fraud.warmup.max-duration-ms:60000}") long maxDurationMillis,
+                         @Value("${fraud.warmup.stable-tolerance:0.1}") double stableTolerance) {
+        this.userCache = ignite.getOrCreateCache("userCache");
+        this.cardNumberToUserIdCache = ignite.getOrCreateCache("cardNumberToUserIdCache");
+        this.userTransactionCache = ignite.getOrCreateCache("userTransactionCache");
+        this.fraudDetectionService = fraudDetectionService;
+        this.merchantLocationIndex = merchantLocationIndex;
+        this.enabled = enabled;
+        this.preloadUsers = preloadUsers;
+        this.batchSize = batchSize;
+        this.maxDurationMillis = maxDurationMillis;
+        this.stableTolerance = stableTolerance;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+
+        List<User> users;
+        try {
+            users = preloadUsers();
+        } catch (RuntimeException e) {
+            // Synthetic traffic falls back to made-up users, so warm-up can still go on
+            System.err.println("Scoring warm-up could not preload users: " + e.getMessage());
+            failure = "preload failed: " + e.getMessage();
+            users = List.of();
+        }
+        long preloadMillis = System.currentTimeMillis() - start;
+
+        try {
+            double[] p99s = runSyntheticTraffic(users, start + maxDurationMillis);
+            coldP99Millis = p99s[0];
+            System.out.printf("Scoring warm-up finished in %d ms (preloaded %d users in %d ms, %d synthetic batches): " +
+                            "p99 %.3f ms cold -> %.3f ms warm%n",
+                    System.currentTimeMillis() - start, users.size(), preloadMillis, (int) p99s[2], p99s[0], p99s[1]);
+        } catch (RuntimeException e) {
+            // A cold scoring path is slower, not wrong; never keep the instance out of service for it
+            System.err.println("Scoring warm-up failed, continuing without it: " + e.getMessage());
+            failure = "synthetic traffic failed: " + e.getMessage();
+        }
+        completed = true;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = Health.up()
+                .withDetail("enabled", enabled)
+                .withDetail("completed", completed)
+                .withDetail("degraded", failure != null)
+                .withDetail("coldP99Millis", coldP99Millis);
+        if (failure != null) {
+            health.withDetail("failure", failure);
+        }
+        return health.build();
+    }
+
+    /**
+     * Records the scoring latency of a live purchase. Once the first live purchases after warm-up have
+     * been sampled, their p99 is logged next to the cold p99 measured during warm-up.
+     *
+     * @param latencyNanos The time spent scoring the purchase.
+     */
+    public void recordLiveLatency(long latencyNanos) {
+        if (earlySamples.get() >= EARLY_TRAFFIC_SAMPLES) {
+            return;
+        }
+        int index = earlySamples.getAndIncrement();
+        if (index >= EARLY_TRAFFIC_SAMPLES) {
+            return;
+        }
+        earlyLatencies.set(index, latencyNanos);
+        // Log once every slot has been written, not when the last slot was handed out
+        if (earlySamplesRecorded.incrementAndGet() == EARLY_TRAFFIC_SAMPLES) {
+            long[] latencies = new long[EARLY_TRAFFIC_SAMPLES];
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = earlyLatencies.get(i);
+            }
+            System.out.printf("Early traffic p99 over first %d purchases: %.3f ms (cold p99 was %.3f ms)%n",
+                    EARLY_TRAFFIC_SAMPLES, p99Millis(latencies), coldP99Millis);
+        }
+    }
+
+    private List<User> preloadUsers() {
+        List<User> users = new ArrayList<>();
+        try (QueryCursor<Cache.Entry<Long, User>> cursor = userCache.query(new ScanQuery<Long, User>())) {
+            for (Cache.Entry<Long, User> entry : cursor) {
+                if (users.size() >= preloadUsers) {
+                    break;
+                }
+                users.add(entry.getValue());
+            }
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        Set<String> cardNumbers = new HashSet<>();
+        for (User user : users) {
+            userIds.add(user.getId());
+            cardNumbers.addAll(user.getCardNumbers());
+        }
+        if (!userIds.isEmpty()) {
+            userTransactionCache.getAll(userIds);
+        }
+        if (!cardNumbers.isEmpty()) {
+            cardNumberToUserIdCache.getAll(cardNumbers);
+        }
+        return users;
+    }
+
+    /**
+     * Scores synthetic purchases in batches until the batch p99 is stable or the deadline passes.
+     *
+     * @return The first batch p99, the last batch p99 (both in ms) and the number of batches run.
+     */
+    private double[] runSyntheticTraffic(List<User> users, long deadline) {
+        Random random = new Random(42);
+        List<String> merchants = merchantLocationIndex.getMerchantNames();
+        long[] latencies = new long[batchSize];
+        double firstP99 = -1.0;
+        double previousP99 = -1.0;
+        double p99 = 0.0;
+        int stableBatches = 0;
+        int batches = 0;
+
+        while (System.currentTimeMillis() < deadline && stableBatches < STABLE_BATCHES_REQUIRED) {
+            for (int i = 0; i < batchSize; i++) {
+                Purchase purchase = syntheticPurchase(random, users, merchants);
+                long start = System.nanoTime();
+                fraudDetectionService.evaluateTransaction(purchase, false);
+                latencies[i] = System.nanoTime() - start;
+            }
+            batches++;
+
+            p99 = p99Millis(latencies);
+            if (firstP99 < 0) {
+                firstP99 = p99;
+            } else if (Math.abs(p99 - previousP99) <= stableTolerance * previousP99) {
+                stableBatches++;
+            } else {
+                stableBatches = 0;
+            }
+            previousP99 = p99;
+        }
+        return new double[] {Math.max(firstP99, 0.0), p99, batches};
+    }
+
+    private Purchase syntheticPurchase(Random random, List<User> users, List<String> merchants) {
+        Purchase purchase = new Purchase();
+        if (users.isEmpty()) {
+            purchase.setUserId(1L + random.nextInt(100));
+            purchase.setCardNumber("WARMUP" + random.nextInt(100));
+        } else {
+            User user = users.get(random.nextInt(users.size()));
+            purchase.setUserId(user.getId());
+            purchase.setCardNumber(user.getCardNumbers().isEmpty()
+                    ? null : user.getCardNumbers().iterator().next());
+        }
+        purchase.setAmount(1.0 + random.nextDouble() * 5000.0);
+        purchase.setMerchantName(merchants.isEmpty() ? "Warmup Merchant" : merchants.get(random.nextInt(merchants.size())));
+        // Spread purchases over the day so every time-of-day branch is exercised
+        purchase.setTimestamp(LocalDateTime.now().minusHours(random.nextInt(24)));
+        return purchase;
+    }
+
+    private static double p99Millis(long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(sorted.length * 0.99) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.backend.service.fraud;
+
+import com.example.backend.model.ShadowStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import weka.classifiers.Classifier;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+import weka.core.SerializationHelper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The ShadowModelEvaluator class scores live traffic with a candidate model without blocking the
+ * live path. Each feature vector built by FraudDetectionService is handed to a small bounded
+ * executor; when its queue is full the work is dropped and counted instead of blocking the request
+ * thread. The scoring itself still takes CPU time from request threads when cores are scarce;
+ * ShadowScoringBenchmark measures the effect on live p99. Agreement with the live model and the
+ * candidate's own latency are recorded; the latency percentile covers the most recent scorings only.
+ *
+ * The candidate is a serialized Weka classifier loaded from "fraud.shadow.model-path"; without it
+ * shadow scoring is disabled.
+ */
+@Component
+public class ShadowModelEvaluator {
+    private static final int LATENCY_SAMPLES = 1024;
+
+    private final String modelPath;
+    private final int queueCapacity;
+
+    private volatile Classifier candidate;
+    private volatile String modelVersion;
+    private ThreadPoolExecutor executor;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong agreements = new AtomicLong();
+    private final AtomicLong disagreements = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    // Ring buffer of the latest candidate latencies, for the percentile
+    private final AtomicLongArray recentLatencyNanos = new AtomicLongArray(LATENCY_SAMPLES);
+    private final AtomicLong latencySamples = new AtomicLong();
+
+    public ShadowModelEvaluator(@Value("${fraud.shadow.model-path:}") String modelPath,
+                                @Value("${fraud.shadow.queue-capacity:1000}") int queueCapacity) {
+        this.modelPath = modelPath;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @PostConstruct
+    public void init() {
+        // A single thread bounds shadow scoring to one core at a time
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "fraud-shadow-scorer");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        if (!modelPath.isEmpty()) {
+            try {
+                setCandidate((Classifier) SerializationHelper.read(modelPath), modelPath);
+            } catch (Exception e) {
+                System.err.println("Failed to load shadow model from " + modelPath + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Replaces the candidate model and resets the collected statistics.
+     *
+     * @param classifier The candidate classifier, or null to disable shadow scoring.
+     * @param version    A label identifying the candidate model.
+     */
+    public synchronized void setCandidate(Classifier classifier, String version) {
+        submitted.set(0);
+        dropped.set(0);
+        agreements.set(0);
+        disagreements.set(0);
+        errors.set(0);
+        totalLatencyNanos.set(0);
+        maxLatencyNanos.set(0);
+        latencySamples.set(0);
+        this.modelVersion = version;
+        this.candidate = classifier;
+    }
+
+    /**
+     * Returns the candidate model together with its version label.
+     *
+     * @return The candidate ScoringModel, or null if no candidate is loaded.
+     */
+    public synchronized ScoringModel getCandidate() {
+        return candidate != null ? new ScoringModel(candidate, modelVersion) : null;
+    }
+
+    /**
+     * Queues the given feature vector for scoring by the candidate model. Never blocks; if the
+     * queue is full the work is dropped.
+     *
+     * @param values         The feature vector used by the live model.
+     * @param header         The dataset header describing the feature vector.
+     * @param livePrediction The class predicted by the live model.
+     */
+    public void submit(double[] values, Instances header, double livePrediction) {
+        Classifier model = candidate;
+        if (model == null) {
+            return;
+        }
+
+        double[] features = values.clone();
+        try {
+            executor.execute(() -> score(model, features, header, livePrediction));
+            submitted.incrementAndGet();
+        } catch (RejectedExecutionException e) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the shadow scoring statistics.
+     *
+     * @return The current ShadowStats.
+     */
+    public ShadowStats getStats() {
+        ShadowStats stats = new ShadowStats();
+        stats.setModelVersion(modelVersion);
+        stats.setSubmitted(submitted.get());
+        stats.setDropped(dropped.get());
+        stats.setAgreements(agreements.get());
+        stats.setDisagreements(disagreements.get());
+        stats.setErrors(errors.get());
+        long scored = agreements.get() + disagreements.get();
+        stats.setAverageLatencyMillis(scored > 0 ? totalLatencyNanos.get() / 1_000_000.0 / scored : 0.0);
+        stats.setMaxLatencyMillis(maxLatencyNanos.get() / 1_000_000.0);
+        stats.setP99LatencyMillis(recentP99Nanos() / 1_000_000.0);
+        return stats;
+    }
+
+    private long recentP99Nanos() {
+        int samples = (int) Math.min(latencySamples.get(), LATENCY_SAMPLES);
+        if (samples == 0) {
+            return 0L;
+        }
+        long[] latencies = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            latencies[i] = recentLatencyNanos.get(i);
+        }
+        Arrays.sort(latencies);
+        return latencies[(int) Math.ceil(samples * 0.99) - 1];
+    }
+
+    private void score(Classifier model, double[] features, Instances header, double livePrediction) {
+        if (model != candidate) {
+            // Candidate was replaced while this work was queued
+            return;
+        }
+        try {
+            DenseInstance instance = new DenseInstance(1.0, features);
+            instance.setDataset(header);
+
+            long start = System.nanoTime();
+            double shadowPrediction = model.classifyInstance(instance);
+            long latency = System.nanoTime() - start;
+
+            totalLatencyNanos.addAndGet(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            recentLatencyNanos.set((int) (latencySamples.getAndIncrement() % LATENCY_SAMPLES), latency);
+            if (shadowPrediction == livePrediction) {
+                agreements.incrementAndGet();
+            } else {
+                disagreements.incrementAndGet();
+            }
+        } catch (Exception e) {
+            errors.incrementAndGet();
+        }
+    }
+}
@@ -2,12 +2,14 @@ package com.example.backend.service.fraud;
 
 import com.example.backend.model.Purchase;
 import com.example.backend.model.HistoricalAnalysis;
+import com.example.backend.service.fraud.rules.FraudRuleSet;
 import org.apache.ignite.IgniteCache;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -25,13 +27,15 @@ public class TransactionHistoryAnalyzer {
     public TransactionHistoryAnalyzer(IgniteCache<Long, List<Purchase>> userTransactionCache) {
         this.userTransactionCache = userTransactionCache;
     }
+
     /**
-     * Analyzes a user's transaction history to detect patterns and anomalies.
+     * Analyzes a user's transaction history using the given rule set for the unusual pattern score.
      *
      * @param currentPurchase The current Purchase instance to be analyzed.
+     * @param rules The rule set providing the deviation limits and weights.
      * @return A HistoricalAnalysis object containing statistical measures and patterns detected in the user's transaction history.
      */
-    public HistoricalAnalysis analyzeUserHistory(Purchase currentPurchase) {
+    public HistoricalAnalysis analyzeUserHistory(Purchase currentPurchase, FraudRuleSet rules) {
         List<Purchase> userHistory = userTransactionCache.get(currentPurchase.getUserId());
         if (userHistory == null || userHistory.isEmpty()) {
             return new HistoricalAnalysis();
@@ -41,17 +45,15 @@ public class TransactionHistoryAnalyzer {
         // explaination
         // 1. Calculate the average amount of purchases in the user's transaction history.
         // 2. Calculate the standard deviation of the amounts in the user's transaction history.
-        // 3. Identify the common merchants in the user's transaction history.
-        // 4. Analyze the typical purchase hours in the user's transaction history.
-        // 5. Calculate the frequency score of purchases in the last 24 hours.
-        // 6. Detect unusual patterns in the user's transaction history compared to the current purchase.
+        // 3. Analyze the typical purchase hours in the user's transaction history.
+        // 4. Calculate the frequency score of purchases in the last 24 hours.
+        // 5. Detect unusual patterns in the user's transaction history compared to the current purchase.
         HistoricalAnalysis analysis = new HistoricalAnalysis();
         analysis.setAverageAmount(calculateAverageAmount(userHistory));
         analysis.setStandardDeviation(calculateStandardDeviation(userHistory));
-        analysis.setCommonMerchants(findCommonMerchants(userHistory));
         analysis.setTypicalPurchaseHours(analyzeTypicalHours(userHistory));
         analysis.setPurchaseFrequencyScore(calculateFrequencyScore(userHistory));
-        analysis.setUnusualPatternScore(detectUnusualPatterns(userHistory, currentPurchase));
+        analysis.setUnusualPatternScore(detectUnusualPatterns(userHistory, analysis, currentPurchase, rules));
         
         return analysis;
     }
@@ -89,20 +91,6 @@ public class TransactionHistoryAnalyzer {
         return Math.sqrt(variance);
     }
 
-    /**
-     * Finds the common merchants in the user's transaction history.
-     *
-     * @param history A list of Purchase instances representing the user's transaction history.
-     * @return A map where the keys are merchant names and the values are the number of times the user has made a purchase from each merchant.
-     */
-    private Map<String, Integer> findCommonMerchants(List<Purchase> history) {
-        return history.stream()
-            .collect(Collectors.groupingBy(
-                Purchase::getMerchantName, // Group by merchant name
-                Collectors.collectingAndThen(Collectors.counting(), Long::intValue) // Count the occurrences and convert to Integer
-            ));
-    }
-
     /**
      * Analyzes the typical purchase hours in the user's transaction history.
      *
@@ -138,30 +126,33 @@ public class TransactionHistoryAnalyzer {
      * Detects unusual patterns in the user's transaction history compared to the current purchase.
      *
      * @param history A list of Purchase instances representing the user's transaction history.
+     * @param analysis The statistics already computed for the history.
      * @param currentPurchase The current Purchase instance to be analyzed.
+     * @param rules The rule set providing the deviation limits and weights.
      * @return A score indicating the likelihood of unusual patterns. Higher scores indicate more unusual patterns.
      */
-    private double detectUnusualPatterns(List<Purchase> history, Purchase currentPurchase) {
+    private double detectUnusualPatterns(List<Purchase> history, HistoricalAnalysis analysis,
+                                         Purchase currentPurchase, FraudRuleSet rules) {
         double score = 0.0;
-        double avgAmount = calculateAverageAmount(history);
-        double stdDev = calculateStandardDeviation(history);
+        double avgAmount = analysis.getAverageAmount();
+        double stdDev = analysis.getStandardDeviation();
 
         // Amount deviation
-        if (Math.abs(currentPurchase.getAmount() - avgAmount) > (2 * stdDev)) {
-            score += 0.4;
+        if (Math.abs(currentPurchase.getAmount() - avgAmount) > (rules.getAmountDeviationStdDevs() * stdDev)) {
+            score += rules.getAmountDeviationWeight();
         }
 
         // Unusual hour
-        Map<Integer, Integer> typicalHours = analyzeTypicalHours(history);
+        Map<Integer, Integer> typicalHours = analysis.getTypicalPurchaseHours();
         int currentHour = currentPurchase.getTimestamp().getHour();
-        if (!typicalHours.containsKey(currentHour) || typicalHours.get(currentHour) < 2) {
-            score += 0.3;
+        if (!typicalHours.containsKey(currentHour) || typicalHours.get(currentHour) < rules.getMinTypicalHourCount()) {
+            score += rules.getUnusualHourWeight();
         }
 
-        // Unusual merchant
-        Map<String, Integer> merchants = findCommonMerchants(history);
-        if (!merchants.containsKey(currentPurchase.getMerchantName())) {
-            score += 0.3;
+        // Unusual merchant: a single pass, without building a per-user merchant map
+        String merchant = currentPurchase.getMerchantName();
+        if (history.stream().noneMatch(p -> Objects.equals(p.getMerchantName(), merchant))) {
+            score += rules.getUnusualMerchantWeight();
         }
 
         return score;
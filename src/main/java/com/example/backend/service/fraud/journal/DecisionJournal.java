@@ -0,0 +1,310 @@
+package com.example.backend.service.fraud.journal;
+
+import com.example.backend.model.JournalStats;
+import com.example.backend.model.Purchase;
+import com.example.backend.service.fraud.FraudDecision;
+import com.example.backend.service.fraud.rules.FraudFeature;
+import com.example.backend.service.fraud.rules.FraudRuleSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * The DecisionJournal class keeps an append-only audit trail of every fraud decision. Request
+ * threads only hand a record to a bounded queue; a single writer thread encodes records in the
+ * fixed JournalLayout straight into memory-mapped segment files, starting a new segment when the
+ * current one is full or the rule set changes. If the queue is full, or the writer has stopped,
+ * the record is dropped and counted rather than blocking the request.
+ *
+ * Card numbers never reach disk: the writer stores an HMAC-SHA256 token keyed with
+ * "fraud.journal.card-hash-key". Without a key a random one is used, so tokens only match within
+ * one run.
+ *
+ * Segments are written to "fraud.journal.dir"; an empty value disables the journal.
+ */
+@Component
+public class DecisionJournal {
+    static final String SEGMENT_PREFIX = "decisions-";
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final String CARD_HASH_ALGORITHM = "HmacSHA256";
+
+    private final String directory;
+    private final long segmentSize;
+    private final String cardHashKey;
+    private final BlockingQueue<PendingRecord> queue;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+    private Mac cardHash;
+    private long segmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentRuleSetVersion;
+    private int position;
+
+    public DecisionJournal(@Value("${fraud.journal.dir:journal}") String directory,
+                           @Value("${fraud.journal.segment-size-mb:64}") int segmentSizeMb,
+                           @Value("${fraud.journal.queue-capacity:10000}") int queueCapacity,
+                           @Value("${fraud.journal.card-hash-key:}") String cardHashKey) {
+        this.directory = directory;
+        this.segmentSize = segmentSizeMb * 1024L * 1024L;
+        this.cardHashKey = cardHashKey;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (directory.isEmpty()) {
+            return;
+        }
+        try {
+            Path dir = Path.of(directory);
+            Files.createDirectories(dir);
+            // Never append to an existing segment; continue after the last one
+            segmentIndex = listSegments(dir).stream()
+                    .mapToLong(DecisionJournal::segmentIndexOf)
+                    .max()
+                    .orElse(0L);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open decision journal in " + directory, e);
+        }
+        cardHash = createCardHash();
+
+        running = true;
+        writer = new Thread(this::writeLoop, "decision-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Queues a decision for the journal. Never blocks; if the queue is full the record is dropped.
+     *
+     * @param purchase The purchase that was scored.
+     * @param decision The decision made for the purchase.
+     */
+    public void append(Purchase purchase, FraudDecision decision) {
+        if (writer == null) {
+            return;
+        }
+        if (!running) {
+            dropped.incrementAndGet();
+            return;
+        }
+
+        JournalRecord record = new JournalRecord();
+        record.setPurchaseId(purchase.getId());
+        record.setUserId(purchase.getUserId());
+        record.setTimestamp(purchase.getTimestamp());
+        record.setAmount(purchase.getAmount());
+        record.setMerchantName(purchase.getMerchantName());
+        record.setFeatures(decision.getFeatures());
+        record.setRuleHits(decision.getRuleHits());
+        record.setRuleSetVersion(decision.getRuleSet().getVersion());
+        record.setFraud(decision.isFraud());
+        record.setFirstPurchase(decision.isFirstPurchase());
+        record.setFallback(decision.isFallback());
+        record.setModelVersion(decision.getModelVersion());
+
+        if (!queue.offer(new PendingRecord(record, purchase.getCardNumber(), decision.getRuleSet()))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return true while the writer thread is alive and accepting records.
+     */
+    public boolean isWriterRunning() {
+        return running && writer != null && writer.isAlive();
+    }
+
+    public JournalStats getStats() {
+        JournalStats stats = new JournalStats();
+        stats.setDirectory(directory);
+        stats.setEnabled(!directory.isEmpty());
+        stats.setWriterRunning(isWriterRunning());
+        stats.setWritten(written.get());
+        stats.setDropped(dropped.get());
+        stats.setQueued(queue.size());
+        return stats;
+    }
+
+    private void writeLoop() {
+        List<PendingRecord> batch = new ArrayList<>();
+        int next = 0;
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch);
+                for (next = 0; next < batch.size(); next++) {
+                    write(batch.get(next));
+                }
+                batch.clear();
+                next = 0;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Decision journal stopped: " + e.getMessage());
+            running = false;
+            // Count everything that will never be written, so a dead writer shows up in the stats
+            List<PendingRecord> unwritten = new ArrayList<>(batch.subList(next, batch.size()));
+            queue.drainTo(unwritten);
+            dropped.addAndGet(unwritten.size());
+        } finally {
+            closeSegment();
+        }
+    }
+
+    private void write(PendingRecord pending) throws IOException {
+        JournalRecord record = pending.record;
+        if (segment == null
+                || record.getRuleSetVersion() != segmentRuleSetVersion
+                || position + JournalLayout.RECORD_SIZE > segment.limit()) {
+            // Every segment names the rules its rule hits refer to
+            rollSegment(pending.ruleSet);
+        }
+        record.setCardToken(cardToken(pending.cardNumber));
+        JournalLayout.writeRecord(segment, position, record);
+        position += JournalLayout.RECORD_SIZE;
+        written.incrementAndGet();
+    }
+
+    private void rollSegment(FraudRuleSet ruleSet) throws IOException {
+        closeSegment();
+        segmentIndex++;
+        Path path = Path.of(directory, String.format("%s%010d%s", SEGMENT_PREFIX, segmentIndex, SEGMENT_SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segmentRuleSetVersion = ruleSet.getVersion();
+        position = JournalLayout.writeHeader(segment, segmentRuleSetVersion,
+                featureNames(), ruleSet.getRiskRuleNames());
+    }
+
+    private void closeSegment() {
+        if (segment != null) {
+            segment.force();
+            segment = null;
+        }
+        if (channel != null) {
+            try (FileChannel closing = channel) {
+                // Give back the unused tail of the preallocated segment. One empty record slot is kept,
+                // so a reader that mapped the full segment before finds an unpublished marker there
+                // instead of reading past the end of the file.
+                closing.truncate(Math.min(position + JournalLayout.RECORD_SIZE, segmentSize));
+            } catch (IOException e) {
+                System.err.println("Failed to close decision journal segment: " + e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    private Mac createCardHash() {
+        byte[] key;
+        if (cardHashKey.isEmpty()) {
+            System.err.println("fraud.journal.card-hash-key is not set; card tokens will not match across restarts");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = cardHashKey.getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            Mac mac = Mac.getInstance(CARD_HASH_ALGORITHM);
+            mac.init(new SecretKeySpec(key, CARD_HASH_ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialize card hashing", e);
+        }
+    }
+
+    private long cardToken(String cardNumber) {
+        if (cardNumber == null) {
+            return JournalLayout.NULL_ID;
+        }
+        return ByteBuffer.wrap(cardHash.doFinal(cardNumber.getBytes(StandardCharsets.UTF_8))).getLong();
+    }
+
+    private static String[] featureNames() {
+        return Arrays.stream(FraudFeature.values()).map(FraudFeature::getRuleName).toArray(String[]::new);
+    }
+
+    static List<Path> listSegments(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long segmentIndexOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    // A queued record with the fields that are only needed by the writer and are never stored as is
+    private static class PendingRecord {
+        private final JournalRecord record;
+        private final String cardNumber;
+        private final FraudRuleSet ruleSet;
+
+        PendingRecord(JournalRecord record, String cardNumber, FraudRuleSet ruleSet) {
+            this.record = record;
+            this.cardNumber = cardNumber;
+            this.ruleSet = ruleSet;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.backend.service.fraud.journal;
+
+import com.example.backend.service.fraud.rules.FraudFeature;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Reads decision journal segments in the order they were written. Each segment is memory-mapped
+ * read-only and scanned up to the first record that has not been published.
+ *
+ * Records come back with the rule set version and rule names of their segment, and with features
+ * rearranged by name into the current FraudFeature order; features a segment does not know are 0.
+ */
+public class DecisionJournalReader {
+    private final Path directory;
+
+    public DecisionJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Passes every recorded decision to the given consumer.
+     *
+     * @param consumer Receives each record, oldest first.
+     * @return The number of records read.
+     * @throws IOException if a segment cannot be read.
+     */
+    public long forEach(Consumer<JournalRecord> consumer) throws IOException {
+        long count = 0;
+        for (Path path : DecisionJournal.listSegments(directory)) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                JournalLayout.SegmentHeader header = JournalLayout.readHeader(segment);
+                if (header == null) {
+                    System.err.println("Skipping decision journal segment with unknown format: " + path);
+                    continue;
+                }
+                int[] featureSlots = featureSlots(header.getFeatureNames());
+                int offset = header.getHeaderSize();
+                while (JournalLayout.hasRecord(segment, offset)) {
+                    JournalRecord record = JournalLayout.readRecord(segment, offset);
+                    record.setRuleSetVersion(header.getRuleSetVersion());
+                    record.setRuleNames(header.getRuleNames());
+                    record.setFeatures(mapFeatures(record.getFeatures(), featureSlots));
+                    consumer.accept(record);
+                    offset += JournalLayout.RECORD_SIZE;
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Current FraudFeature ordinal of each recorded feature, or -1 if it no longer exists
+    private static int[] featureSlots(String[] featureNames) {
+        int[] slots = new int[featureNames.length];
+        for (int i = 0; i < featureNames.length; i++) {
+            try {
+                slots[i] = FraudFeature.fromRuleName(featureNames[i]).ordinal();
+            } catch (IllegalArgumentException e) {
+                slots[i] = -1;
+            }
+        }
+        return slots;
+    }
+
+    private static double[] mapFeatures(double[] recorded, int[] featureSlots) {
+        double[] features = new double[FraudFeature.COUNT];
+        for (int i = 0; i < recorded.length && i < featureSlots.length; i++) {
+            if (featureSlots[i] >= 0) {
+                features[featureSlots[i]] = recorded[i];
+            }
+        }
+        return features;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.backend.service.fraud.journal;
+
+import com.example.backend.model.ReplayResult;
+import com.example.backend.service.fraud.FraudDecision;
+import com.example.backend.service.fraud.FraudDetectionService;
+import com.example.backend.service.fraud.ScoringModel;
+import com.example.backend.service.fraud.ShadowModelEvaluator;
+import com.example.backend.service.fraud.rules.FraudRuleSet;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * The DecisionReplayService class feeds recorded decisions from the decision journal back through
+ * FraudDetectionService as fast as possible, and reports how a model and the current rules would
+ * have decided compared to the recorded verdicts.
+ *
+ * Replay reuses the features recorded with each decision, so history, locations and card rings as
+ * they are now do not leak into the comparison. Only the ML prediction and the rules are evaluated
+ * again, with the live model, the candidate loaded in ShadowModelEvaluator, or a serialized model
+ * named in the request; each record is scored on the calling thread. Replay does not store
+ * purchases or update per-user state.
+ *
+ * Recorded fallback decisions were made by the amount threshold alone, so they are counted but not
+ * compared; neither are records the chosen model fails to score.
+ */
+@Service
+public class DecisionReplayService {
+    private final FraudDetectionService fraudDetectionService;
+    private final ShadowModelEvaluator shadowModelEvaluator;
+    private final DecisionJournal decisionJournal;
+
+    public DecisionReplayService(FraudDetectionService fraudDetectionService,
+                                 ShadowModelEvaluator shadowModelEvaluator, DecisionJournal decisionJournal) {
+        this.fraudDetectionService = fraudDetectionService;
+        this.shadowModelEvaluator = shadowModelEvaluator;
+        this.decisionJournal = decisionJournal;
+    }
+
+    /**
+     * Replays every recorded decision with the chosen model.
+     *
+     * @param candidate Whether to replay with the candidate model of ShadowModelEvaluator.
+     * @param modelPath The path of a serialized Weka classifier to replay with, or null.
+     * @return A ReplayResult comparing recorded and replayed verdicts and rule hits.
+     * @throws IllegalArgumentException if both or an unavailable model are chosen.
+     * @throws IOException              if the journal cannot be read.
+     */
+    public ReplayResult replay(boolean candidate, String modelPath) throws IOException {
+        ScoringModel model;
+        if (candidate && modelPath != null) {
+            throw new IllegalArgumentException("Choose either the candidate model or a model path");
+        } else if (candidate) {
+            model = shadowModelEvaluator.getCandidate();
+            if (model == null) {
+                throw new IllegalArgumentException("No candidate model is loaded");
+            }
+        } else if (modelPath != null) {
+            model = ScoringModel.load(modelPath);
+        } else {
+            model = fraudDetectionService.getLiveModel();
+        }
+        return replay(model);
+    }
+
+    /**
+     * Replays every recorded decision with the given model.
+     *
+     * @param model The model to predict with.
+     * @return A ReplayResult comparing recorded and replayed verdicts and rule hits.
+     * @throws IOException if the journal cannot be read.
+     */
+    public ReplayResult replay(ScoringModel model) throws IOException {
+        ReplayResult result = new ReplayResult();
+        result.setModelVersion(model.getVersion());
+        Map<String, Long> verdictChanges = new TreeMap<>();
+        result.setVerdictChangesByModelVersion(verdictChanges);
+        if (decisionJournal.getDirectory().isEmpty()) {
+            return result;
+        }
+
+        RuleHitComparison ruleHitComparison = new RuleHitComparison();
+        long start = System.nanoTime();
+        long records = new DecisionJournalReader(Path.of(decisionJournal.getDirectory())).forEach(record -> {
+            if (record.isFallback()) {
+                result.setFallbackRecords(result.getFallbackRecords() + 1);
+                return;
+            }
+            FraudDecision decision = fraudDetectionService.replayDecision(
+                    record.getUserId(), record.getFeatures(), record.isFirstPurchase(), model);
+            if (decision.isFallback()) {
+                result.setReplayErrors(result.getReplayErrors() + 1);
+                return;
+            }
+            if (record.isFraud()) {
+                result.setRecordedFraudCount(result.getRecordedFraudCount() + 1);
+            }
+            if (decision.isFraud()) {
+                result.setReplayedFraudCount(result.getReplayedFraudCount() + 1);
+            }
+            boolean changed = decision.isFraud() != record.isFraud();
+            if (changed) {
+                result.setVerdictChanges(result.getVerdictChanges() + 1);
+            }
+            verdictChanges.merge(Objects.toString(record.getModelVersion(), "unknown"), changed ? 1L : 0L, Long::sum);
+            ruleHitComparison.compare(record.getRuleNames(), record.getRuleHits(),
+                    decision.getRuleSet(), decision.getRuleHits());
+            result.setRuleSetVersion(decision.getRuleSet().getVersion());
+        });
+        long elapsedNanos = System.nanoTime() - start;
+
+        result.setRecords(records);
+        result.setRuleHitChanges(ruleHitComparison.changes);
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setRecordsPerSecond(elapsedNanos > 0 ? records * 1_000_000_000.0 / elapsedNanos : 0.0);
+        return result;
+    }
+
+    // Counts, per rule name, the records where a rule matched on replay but not when recorded or the
+    // other way round. Rules are matched by name, since bit positions shift when rules are added or removed.
+    private static class RuleHitComparison {
+        private final Map<String, Long> changes = new TreeMap<>();
+        // Name lookups are rebuilt only when a new segment or rule set comes along
+        private String[] recordedNames;
+        private FraudRuleSet replayedRuleSet;
+        private String[] replayedNames;
+        private int[] replayedIndexOfRecorded;
+        private boolean[] replayedOnly;
+
+        void compare(String[] recordedNames, long recordedHits, FraudRuleSet replayedRuleSet, long replayedHits) {
+            if (recordedNames != this.recordedNames || replayedRuleSet != this.replayedRuleSet) {
+                index(recordedNames, replayedRuleSet);
+            }
+            for (int i = 0; i < recordedNames.length; i++) {
+                int j = replayedIndexOfRecorded[i];
+                boolean recorded = (recordedHits & (1L << i)) != 0;
+                boolean replayed = j >= 0 && (replayedHits & (1L << j)) != 0;
+                if (recorded != replayed) {
+                    changes.merge(recordedNames[i], 1L, Long::sum);
+                }
+            }
+            for (int j = 0; j < replayedNames.length; j++) {
+                if (replayedOnly[j] && (replayedHits & (1L << j)) != 0) {
+                    changes.merge(replayedNames[j], 1L, Long::sum);
+                }
+            }
+        }
+
+        private void index(String[] recordedNames, FraudRuleSet replayedRuleSet) {
+            this.recordedNames = recordedNames;
+            this.replayedRuleSet = replayedRuleSet;
+            this.replayedNames = replayedRuleSet.getRiskRuleNames();
+            List<String> replayed = Arrays.asList(replayedNames);
+            List<String> recorded = Arrays.asList(recordedNames);
+            replayedIndexOfRecorded = new int[recordedNames.length];
+            for (int i = 0; i < recordedNames.length; i++) {
+                replayedIndexOfRecorded[i] = replayed.indexOf(recordedNames[i]);
+            }
+            replayedOnly = new boolean[replayedNames.length];
+            for (int j = 0; j < replayedNames.length; j++) {
+                replayedOnly[j] = !recorded.contains(replayedNames[j]);
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.backend.service.fraud.journal;
+
+import com.example.backend.service.fraud.rules.FraudFeature;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary layout of the decision journal. Every segment starts with a header that names the
+ * features and risk rules its records refer to:
+ * <pre>
+ *   0  int     magic, published last
+ *   4  int     format version
+ *   8  int     record size
+ *   12 int     feature slots
+ *   16 int     header size, where the first record starts
+ *   24 long    rule set version
+ *   32 ...     feature names, then risk rule names: int count + (length byte + UTF-8) each
+ * </pre>
+ * followed by fixed-size records:
+ * <pre>
+ *   0  int     record marker, published last
+ *   4  byte    flags (bit 0 fraud, bit 1 first purchase, bit 2 fallback decision)
+ *   5  byte    number of features used
+ *   8  long    purchase id
+ *   16 long    user id
+ *   24 long    purchase timestamp, epoch millis of the local date-time
+ *   32 double  amount
+ *   40 long    risk rule hits bitmask, bit i for the i-th rule name in the header
+ *   48 long    card token, a keyed hash of the card number
+ *   56 48B     merchant name (length byte + UTF-8, truncated)
+ *   104 24B    model version
+ *   128 16 x double feature vector
+ * </pre>
+ * Markers are written with release semantics and read with acquire semantics, so a reader of a
+ * live segment that sees a marker also sees the record body before it. Nothing is forced to disk
+ * per record; after a crash the tail of a segment may be lost or hold partially written pages.
+ */
+final class JournalLayout {
+    static final int MAGIC = 0x46444a32; // "FDJ2"
+    static final int FORMAT_VERSION = 2;
+    static final int RECORD_MARKER = 0x52454344; // "RECD"
+    static final int FEATURE_SLOTS = 16;
+    static final int RECORD_SIZE = 256;
+    static final long NULL_ID = Long.MIN_VALUE;
+
+    private static final int HEADER_SIZE_OFFSET = 16;
+    private static final int RULE_SET_VERSION_OFFSET = 24;
+    private static final int NAMES_OFFSET = 32;
+    private static final int MAX_NAME_BYTES = 254;
+
+    private static final int FLAGS = 4;
+    private static final int FEATURE_COUNT = 5;
+    private static final int PURCHASE_ID = 8;
+    private static final int USER_ID = 16;
+    private static final int TIMESTAMP = 24;
+    private static final int AMOUNT = 32;
+    private static final int RULE_HITS = 40;
+    private static final int CARD_TOKEN = 48;
+    private static final int MERCHANT = 56;
+    private static final int MERCHANT_SIZE = 48;
+    private static final int MODEL_VERSION = 104;
+    private static final int MODEL_VERSION_SIZE = 24;
+    private static final int FEATURES = 128;
+
+    // Matches the default big-endian order of the buffers the journal maps
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    static {
+        if (FraudFeature.COUNT > FEATURE_SLOTS) {
+            throw new IllegalStateException("Journal has room for " + FEATURE_SLOTS + " features only");
+        }
+    }
+
+    private JournalLayout() {
+    }
+
+    /**
+     * The decoded header of a segment.
+     */
+    static final class SegmentHeader {
+        private final int headerSize;
+        private final long ruleSetVersion;
+        private final String[] featureNames;
+        private final String[] ruleNames;
+
+        SegmentHeader(int headerSize, long ruleSetVersion, String[] featureNames, String[] ruleNames) {
+            this.headerSize = headerSize;
+            this.ruleSetVersion = ruleSetVersion;
+            this.featureNames = featureNames;
+            this.ruleNames = ruleNames;
+        }
+
+        int getHeaderSize() {
+            return headerSize;
+        }
+
+        long getRuleSetVersion() {
+            return ruleSetVersion;
+        }
+
+        String[] getFeatureNames() {
+            return featureNames;
+        }
+
+        String[] getRuleNames() {
+            return ruleNames;
+        }
+    }
+
+    /**
+     * Writes a segment header and publishes it.
+     *
+     * @return The header size, a multiple of 8 so that record markers stay aligned.
+     */
+    static int writeHeader(ByteBuffer buffer, long ruleSetVersion, String[] featureNames, String[] ruleNames) {
+        buffer.putInt(4, FORMAT_VERSION);
+        buffer.putInt(8, RECORD_SIZE);
+        buffer.putInt(12, FEATURE_SLOTS);
+        buffer.putLong(RULE_SET_VERSION_OFFSET, ruleSetVersion);
+        int offset = putNames(buffer, NAMES_OFFSET, featureNames);
+        offset = putNames(buffer, offset, ruleNames);
+        int headerSize = (offset + 7) & ~7;
+        buffer.putInt(HEADER_SIZE_OFFSET, headerSize);
+
+        INT.setRelease(buffer, 0, MAGIC);
+        return headerSize;
+    }
+
+    /**
+     * @return The header of the segment, or null if it is not a published segment of this format.
+     */
+    static SegmentHeader readHeader(ByteBuffer buffer) {
+        if (buffer.limit() < NAMES_OFFSET
+                || (int) INT.getAcquire(buffer, 0) != MAGIC
+                || buffer.getInt(4) != FORMAT_VERSION
+                || buffer.getInt(8) != RECORD_SIZE) {
+            return null;
+        }
+        String[] featureNames = getNames(buffer, NAMES_OFFSET);
+        String[] ruleNames = getNames(buffer, namesEnd(buffer, NAMES_OFFSET));
+        return new SegmentHeader(buffer.getInt(HEADER_SIZE_OFFSET), buffer.getLong(RULE_SET_VERSION_OFFSET),
+                featureNames, ruleNames);
+    }
+
+    static void writeRecord(ByteBuffer buffer, int offset, JournalRecord record) {
+        byte flags = (byte) ((record.isFraud() ? 1 : 0) | (record.isFirstPurchase() ? 2 : 0)
+                | (record.isFallback() ? 4 : 0));
+        double[] features = record.getFeatures();
+        int featureCount = features != null ? Math.min(features.length, FEATURE_SLOTS) : 0;
+
+        buffer.put(offset + FLAGS, flags);
+        buffer.put(offset + FEATURE_COUNT, (byte) featureCount);
+        buffer.putLong(offset + PURCHASE_ID, record.getPurchaseId() != null ? record.getPurchaseId() : NULL_ID);
+        buffer.putLong(offset + USER_ID, record.getUserId() != null ? record.getUserId() : NULL_ID);
+        buffer.putLong(offset + TIMESTAMP, record.getTimestamp() != null
+                ? record.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli() : NULL_ID);
+        buffer.putDouble(offset + AMOUNT, record.getAmount());
+        buffer.putLong(offset + RULE_HITS, record.getRuleHits());
+        buffer.putLong(offset + CARD_TOKEN, record.getCardToken());
+        putString(buffer, offset + MERCHANT, MERCHANT_SIZE, record.getMerchantName());
+        putString(buffer, offset + MODEL_VERSION, MODEL_VERSION_SIZE, record.getModelVersion());
+        for (int i = 0; i < FEATURE_SLOTS; i++) {
+            buffer.putDouble(offset + FEATURES + i * Double.BYTES, i < featureCount ? features[i] : 0.0);
+        }
+
+        // Publish the record only once its body is complete
+        INT.setRelease(buffer, offset, RECORD_MARKER);
+    }
+
+    static boolean hasRecord(ByteBuffer buffer, int offset) {
+        return offset + RECORD_SIZE <= buffer.limit() && (int) INT.getAcquire(buffer, offset) == RECORD_MARKER;
+    }
+
+    static JournalRecord readRecord(ByteBuffer buffer, int offset) {
+        JournalRecord record = new JournalRecord();
+        byte flags = buffer.get(offset + FLAGS);
+        int featureCount = buffer.get(offset + FEATURE_COUNT);
+        record.setFraud((flags & 1) != 0);
+        record.setFirstPurchase((flags & 2) != 0);
+        record.setFallback((flags & 4) != 0);
+        record.setPurchaseId(getId(buffer, offset + PURCHASE_ID));
+        record.setUserId(getId(buffer, offset + USER_ID));
+        long timestamp = buffer.getLong(offset + TIMESTAMP);
+        record.setTimestamp(timestamp != NULL_ID
+                ? LocalDateTime.ofEpochSecond(Math.floorDiv(timestamp, 1000L),
+                        (int) Math.floorMod(timestamp, 1000L) * 1_000_000, ZoneOffset.UTC)
+                : null);
+        record.setAmount(buffer.getDouble(offset + AMOUNT));
+        record.setRuleHits(buffer.getLong(offset + RULE_HITS));
+        record.setCardToken(buffer.getLong(offset + CARD_TOKEN));
+        record.setMerchantName(getString(buffer, offset + MERCHANT));
+        record.setModelVersion(getString(buffer, offset + MODEL_VERSION));
+        double[] features = new double[featureCount];
+        for (int i = 0; i < featureCount; i++) {
+            features[i] = buffer.getDouble(offset + FEATURES + i * Double.BYTES);
+        }
+        record.setFeatures(features);
+        return record;
+    }
+
+    private static Long getId(ByteBuffer buffer, int offset) {
+        long id = buffer.getLong(offset);
+        return id != NULL_ID ? id : null;
+    }
+
+    private static int putNames(ByteBuffer buffer, int offset, String[] names) {
+        buffer.putInt(offset, names.length);
+        offset += Integer.BYTES;
+        for (String name : names) {
+            int length = Math.min(name.getBytes(StandardCharsets.UTF_8).length, MAX_NAME_BYTES);
+            putString(buffer, offset, length + 1, name);
+            offset += 1 + length;
+        }
+        return offset;
+    }
+
+    private static String[] getNames(ByteBuffer buffer, int offset) {
+        String[] names = new String[buffer.getInt(offset)];
+        offset += Integer.BYTES;
+        for (int i = 0; i < names.length; i++) {
+            names[i] = getString(buffer, offset);
+            offset += 1 + (buffer.get(offset) & 0xFF);
+        }
+        return names;
+    }
+
+    private static int namesEnd(ByteBuffer buffer, int offset) {
+        int count = buffer.getInt(offset);
+        offset += Integer.BYTES;
+        for (int i = 0; i < count; i++) {
+            offset += 1 + (buffer.get(offset) & 0xFF);
+        }
+        return offset;
+    }
+
+    private static void putString(ByteBuffer buffer, int offset, int size, String value) {
+        if (value == null) {
+            // Length 0xFF marks null
+            buffer.put(offset, (byte) 0xFF);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, size - 1);
+        buffer.put(offset, (byte) length);
+        buffer.put(offset + 1, bytes, 0, length);
+    }
+
+    private static String getString(ByteBuffer buffer, int offset) {
+        int length = buffer.get(offset) & 0xFF;
+        if (length == 0xFF) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
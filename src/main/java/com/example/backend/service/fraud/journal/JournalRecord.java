@@ -0,0 +1,141 @@
+package com.example.backend.service.fraud.journal;
+
+import java.time.LocalDateTime;
+
+/**
+ * A single decision as stored in the decision journal. Merchant name and model version are
+ * truncated to the fixed field sizes of the journal layout. The card number is never stored, only
+ * a keyed hash of it that tells records for the same card apart without revealing the number.
+ *
+ * Rule hits refer to the rule set the decision was made with: bit i is set when ruleNames[i] matched.
+ * Fallback records were decided by the amount threshold alone because the analysis failed.
+ */
+public class JournalRecord {
+    private Long purchaseId;
+    private Long userId;
+    private LocalDateTime timestamp;
+    private double amount;
+    private String merchantName;
+    private long cardToken;
+    private double[] features;
+    private long ruleHits;
+    private long ruleSetVersion;
+    private String[] ruleNames;
+    private boolean fraud;
+    private boolean firstPurchase;
+    private boolean fallback;
+    private String modelVersion;
+
+    // Getters and Setters
+    public Long getPurchaseId() {
+        return purchaseId;
+    }
+
+    public void setPurchaseId(Long purchaseId) {
+        this.purchaseId = purchaseId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(double amount) {
+        this.amount = amount;
+    }
+
+    public String getMerchantName() {
+        return merchantName;
+    }
+
+    public void setMerchantName(String merchantName) {
+        this.merchantName = merchantName;
+    }
+
+    public long getCardToken() {
+        return cardToken;
+    }
+
+    public void setCardToken(long cardToken) {
+        this.cardToken = cardToken;
+    }
+
+    public double[] getFeatures() {
+        return features;
+    }
+
+    public void setFeatures(double[] features) {
+        this.features = features;
+    }
+
+    public long getRuleHits() {
+        return ruleHits;
+    }
+
+    public void setRuleHits(long ruleHits) {
+        this.ruleHits = ruleHits;
+    }
+
+    public long getRuleSetVersion() {
+        return ruleSetVersion;
+    }
+
+    public void setRuleSetVersion(long ruleSetVersion) {
+        this.ruleSetVersion = ruleSetVersion;
+    }
+
+    public String[] getRuleNames() {
+        return ruleNames;
+    }
+
+    public void setRuleNames(String[] ruleNames) {
+        this.ruleNames = ruleNames;
+    }
+
+    public boolean isFraud() {
+        return fraud;
+    }
+
+    public void setFraud(boolean fraud) {
+        this.fraud = fraud;
+    }
+
+    public boolean isFirstPurchase() {
+        return firstPurchase;
+    }
+
+    public void setFirstPurchase(boolean firstPurchase) {
+        this.firstPurchase = firstPurchase;
+    }
+
+    public boolean isFallback() {
+        return fallback;
+    }
+
+    public void setFallback(boolean fallback) {
+        this.fallback = fallback;
+    }
+
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public void setModelVersion(String modelVersion) {
+        this.modelVersion = modelVersion;
+    }
+}
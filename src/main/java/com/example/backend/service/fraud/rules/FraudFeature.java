@@ -0,0 +1,41 @@
+package com.example.backend.service.fraud.rules;
+
+/**
+ * The features FraudDetectionService computes for each purchase. Each feature has a fixed slot
+ * in the feature vector (its ordinal), and a name used to reference it in the rule file.
+ */
+public enum FraudFeature {
+    AMOUNT("amount"),
+    HOUR_OF_DAY("hour_of_day"),
+    ML_PREDICTION("ml_prediction"),
+    FREQUENCY_SCORE("frequency_score"),
+    UNUSUAL_PATTERN_SCORE("unusual_pattern_score"),
+    AMOUNT_ZSCORE("amount_zscore"),
+    HOUR_PURCHASE_COUNT("hour_purchase_count"),
+    IMPOSSIBLE_TRAVEL("impossible_travel"),
+    CARD_RING_SIZE("card_ring_size"),
+    CARD_RING_GROWTH("card_ring_growth"),
+    CARD_MERCHANT_SPREAD("card_merchant_spread"),
+    USER_MERCHANT_SPREAD("user_merchant_spread");
+
+    public static final int COUNT = values().length;
+
+    private final String ruleName;
+
+    FraudFeature(String ruleName) {
+        this.ruleName = ruleName;
+    }
+
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    public static FraudFeature fromRuleName(String ruleName) {
+        for (FraudFeature feature : values()) {
+            if (feature.ruleName.equals(ruleName)) {
+                return feature;
+            }
+        }
+        throw new IllegalArgumentException("Unknown feature: " + ruleName);
+    }
+}
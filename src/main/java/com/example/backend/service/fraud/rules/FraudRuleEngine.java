@@ -0,0 +1,114 @@
+package com.example.backend.service.fraud.rules;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The FraudRuleEngine class loads the fraud rule file, compiles it into a FraudRuleSet and swaps it
+ * in atomically. Callers read the current rule set once per purchase, so a reload never mixes old
+ * and new thresholds within one decision.
+ *
+ * Rules come from "fraud.rules.path" when set, and are then reloaded whenever the file changes;
+ * otherwise the bundled "fraud-rules.properties" is used. A rule file that fails to compile is
+ * rejected and the previous rule set stays active.
+ */
+@Component
+public class FraudRuleEngine {
+    private static final String DEFAULT_RULES = "fraud-rules.properties";
+
+    private final String rulesPath;
+    private final long reloadIntervalMillis;
+
+    private volatile FraudRuleSet ruleSet;
+    private long lastModified;
+    private ScheduledExecutorService watcher;
+
+    public FraudRuleEngine(@Value("${fraud.rules.path:}") String rulesPath,
+                           @Value("${fraud.rules.reload-interval-ms:5000}") long reloadIntervalMillis) {
+        this.rulesPath = rulesPath;
+        this.reloadIntervalMillis = reloadIntervalMillis;
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            reload();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load fraud rules", e);
+        }
+
+        if (!rulesPath.isEmpty() && reloadIntervalMillis > 0) {
+            watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "fraud-rules-watcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            watcher.scheduleWithFixedDelay(this::reloadIfModified,
+                    reloadIntervalMillis, reloadIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the active rule set.
+     *
+     * @return The current FraudRuleSet.
+     */
+    public FraudRuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    /**
+     * Reads and compiles the rule file, then makes it the active rule set.
+     *
+     * @throws IOException              if the rule file cannot be read.
+     * @throws IllegalArgumentException if the rule file does not compile.
+     */
+    public synchronized void reload() throws IOException {
+        Properties properties = new Properties();
+        if (rulesPath.isEmpty()) {
+            try (InputStream in = new ClassPathResource(DEFAULT_RULES).getInputStream()) {
+                properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+            }
+        } else {
+            Path path = Path.of(rulesPath);
+            lastModified = Files.getLastModifiedTime(path).toMillis();
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        }
+        ruleSet = FraudRuleSet.compile(properties);
+    }
+
+    private synchronized void reloadIfModified() {
+        try {
+            if (Files.getLastModifiedTime(Path.of(rulesPath)).toMillis() != lastModified) {
+                reload();
+                System.out.println("Reloaded fraud rules from " + rulesPath);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to reload fraud rules, keeping previous rules: " + e.getMessage());
+        }
+    }
+}
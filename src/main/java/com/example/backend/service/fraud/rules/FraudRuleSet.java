@@ -0,0 +1,183 @@
+package com.example.backend.service.fraud.rules;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * An immutable, compiled set of fraud rules and tuning parameters. Risk factor rules add one
+ * risk factor each when they match; a purchase is fraudulent when at least "decision.min_risk_factors"
+ * match. First purchases, which have no history, are judged by "first_purchase.rule" alone.
+ *
+ * Numeric parameters are stored in plain fields and all risk rules are compiled into a single
+ * RuleProgram, so nothing is looked up by name while a purchase is being scored.
+ *
+ * Each rule set carries a version derived from its definitions, so recorded rule hits can be tied
+ * to the rule names they refer to after a reload.
+ */
+public final class FraudRuleSet {
+    private static final String RISK_RULE_PREFIX = "risk.";
+
+    private final long version;
+    private final String[] riskRuleNames;
+    private final RuleProgram riskRules;
+    private final int minRiskFactors;
+    private final RuleProgram firstPurchaseRule;
+    private final double fallbackAmountThreshold;
+    private final double amountDeviationStdDevs;
+    private final double amountDeviationWeight;
+    private final int minTypicalHourCount;
+    private final double unusualHourWeight;
+    private final double unusualMerchantWeight;
+
+    private FraudRuleSet(Properties properties) {
+        this.version = version(properties);
+        List<String> names = new ArrayList<>();
+        List<String> rules = new ArrayList<>();
+        // Sorted so that rule order is stable across reloads
+        for (String key : new TreeSet<>(properties.stringPropertyNames())) {
+            if (key.startsWith(RISK_RULE_PREFIX)) {
+                names.add(key.substring(RISK_RULE_PREFIX.length()));
+                rules.add(properties.getProperty(key));
+            }
+        }
+        if (rules.size() > Long.SIZE) {
+            throw new IllegalArgumentException("At most " + Long.SIZE + " risk rules are supported");
+        }
+        this.riskRuleNames = names.toArray(new String[0]);
+        this.riskRules = RuleCompiler.compile(rules);
+
+        this.minRiskFactors = integer(properties, "decision.min_risk_factors");
+        this.firstPurchaseRule = RuleCompiler.compile(List.of(required(properties, "first_purchase.rule")));
+        this.fallbackAmountThreshold = number(properties, "fallback.amount_threshold");
+        this.amountDeviationStdDevs = number(properties, "pattern.amount_deviation_std_devs");
+        this.amountDeviationWeight = number(properties, "pattern.amount_deviation_weight");
+        this.minTypicalHourCount = integer(properties, "pattern.min_typical_hour_count");
+        this.unusualHourWeight = number(properties, "pattern.unusual_hour_weight");
+        this.unusualMerchantWeight = number(properties, "pattern.unusual_merchant_weight");
+    }
+
+    /**
+     * Parses and compiles a rule set.
+     *
+     * @param properties The rule definitions.
+     * @return The compiled FraudRuleSet.
+     * @throws IllegalArgumentException if a rule is invalid or a required parameter is missing.
+     */
+    public static FraudRuleSet compile(Properties properties) {
+        return new FraudRuleSet(properties);
+    }
+
+    /**
+     * Evaluates every risk factor rule against the given features.
+     *
+     * @param features The feature vector of the purchase.
+     * @return A bitmask with bit i set when the i-th rule of getRiskRuleNames() matched.
+     */
+    public long matchRiskRules(double[] features) {
+        return riskRules.matchAll(features);
+    }
+
+    /**
+     * Decides whether a purchase with history is fraudulent.
+     *
+     * @param ruleHits The risk factor rules that matched, as returned by matchRiskRules.
+     * @return true if at least the minimum number of risk factor rules matched.
+     */
+    public boolean isFraud(long ruleHits) {
+        return Long.bitCount(ruleHits) >= minRiskFactors;
+    }
+
+    /**
+     * Decides whether a user's first purchase is fraudulent.
+     *
+     * @param features The feature vector of the purchase.
+     * @return true if the first purchase rule matches.
+     */
+    public boolean isFirstPurchaseFraud(double[] features) {
+        return firstPurchaseRule.matchAll(features) != 0L;
+    }
+
+    /**
+     * @return A hash of the rule definitions; equal definitions always give the same version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public String[] getRiskRuleNames() {
+        return riskRuleNames.clone();
+    }
+
+    public int getMinRiskFactors() {
+        return minRiskFactors;
+    }
+
+    public double getFallbackAmountThreshold() {
+        return fallbackAmountThreshold;
+    }
+
+    public double getAmountDeviationStdDevs() {
+        return amountDeviationStdDevs;
+    }
+
+    public double getAmountDeviationWeight() {
+        return amountDeviationWeight;
+    }
+
+    public int getMinTypicalHourCount() {
+        return minTypicalHourCount;
+    }
+
+    public double getUnusualHourWeight() {
+        return unusualHourWeight;
+    }
+
+    public double getUnusualMerchantWeight() {
+        return unusualMerchantWeight;
+    }
+
+    private static long version(Properties properties) {
+        StringBuilder definitions = new StringBuilder();
+        for (String key : new TreeSet<>(properties.stringPropertyNames())) {
+            definitions.append(key).append('=').append(properties.getProperty(key).trim()).append('\n');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(definitions.toString().getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static int integer(Properties properties, String key) {
+        double value = number(properties, key);
+        if (value != Math.rint(value) || value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Rule parameter " + key + " is not a whole number: " + value);
+        }
+        return (int) value;
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing rule parameter: " + key);
+        }
+        return value.trim();
+    }
+
+    private static double number(Properties properties, String key) {
+        String value = required(properties, key);
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Rule parameter " + key + " is not a number: " + value);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.backend.service.fraud.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The RuleCompiler class parses rule conditions and compiles them into one flat RuleProgram.
+ * Feature names are resolved to vector indices at compile time, so evaluation involves no
+ * reflection or map lookups.
+ *
+ * Grammar:
+ * <pre>
+ *   expr       := and ('||' and)*
+ *   and        := unary ('&&' unary)*
+ *   unary      := '!' unary | '(' expr ')' | atLeast | comparison
+ *   atLeast    := 'atLeast' '(' integer (',' expr)+ ')'
+ *   comparison := feature ('>' | '>=' | '<' | '<=' | '==' | '!=') number
+ * </pre>
+ */
+final class RuleCompiler {
+    private final List<Integer> code = new ArrayList<>();
+    private final List<Integer> ruleEnds = new ArrayList<>();
+    private final List<Double> thresholds = new ArrayList<>();
+
+    // State of the rule being parsed
+    private List<String> tokens;
+    private String source;
+    private int position;
+    private int stackDepth;
+
+    private RuleCompiler() {
+    }
+
+    /**
+     * Compiles the given conditions into one program; rule i of the program is sources.get(i).
+     *
+     * @throws IllegalArgumentException if a condition is invalid.
+     */
+    static RuleProgram compile(List<String> sources) {
+        RuleCompiler compiler = new RuleCompiler();
+        for (String source : sources) {
+            compiler.compileRule(source);
+        }
+        return new RuleProgram(
+                compiler.code.stream().mapToInt(Integer::intValue).toArray(),
+                compiler.ruleEnds.stream().mapToInt(Integer::intValue).toArray(),
+                compiler.thresholds.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    private void compileRule(String source) {
+        this.source = source;
+        this.tokens = tokenize(source);
+        this.position = 0;
+        this.stackDepth = 0;
+        parseOr();
+        if (position != tokens.size()) {
+            throw error("unexpected '" + tokens.get(position) + "'");
+        }
+        ruleEnds.add(code.size());
+    }
+
+    private void parseOr() {
+        parseAnd();
+        while (accept("||")) {
+            parseAnd();
+            emit(RuleProgram.OR, 0, 0.0, -1);
+        }
+    }
+
+    private void parseAnd() {
+        parseUnary();
+        while (accept("&&")) {
+            parseUnary();
+            emit(RuleProgram.AND, 0, 0.0, -1);
+        }
+    }
+
+    private void parseUnary() {
+        if (accept("!")) {
+            parseUnary();
+            emit(RuleProgram.NOT, 0, 0.0, 0);
+        } else if (accept("(")) {
+            parseOr();
+            expect(")");
+        } else if (accept("atLeast")) {
+            parseAtLeast();
+        } else {
+            parseComparison();
+        }
+    }
+
+    private void parseAtLeast() {
+        expect("(");
+        double number = parseNumber();
+        if (number != Math.rint(number)) {
+            throw error("atLeast needs a whole number but found " + number);
+        }
+        int count = 0;
+        while (accept(",")) {
+            parseOr();
+            count++;
+        }
+        expect(")");
+        if (count == 0) {
+            throw error("atLeast needs at least one condition");
+        }
+        int required = (int) Math.max(0, Math.min(number, Long.SIZE));
+        emit(RuleProgram.AT_LEAST, count | required << 8, 0.0, 1 - count);
+    }
+
+    private void parseComparison() {
+        String name = next();
+        int index;
+        try {
+            index = FraudFeature.fromRuleName(name).ordinal();
+        } catch (IllegalArgumentException e) {
+            throw error(e.getMessage());
+        }
+        String operator = next();
+        int opcode = switch (operator) {
+            case ">" -> RuleProgram.GT;
+            case ">=" -> RuleProgram.GE;
+            case "<" -> RuleProgram.LT;
+            case "<=" -> RuleProgram.LE;
+            case "==" -> RuleProgram.EQ;
+            case "!=" -> RuleProgram.NE;
+            default -> throw error("unknown operator '" + operator + "'");
+        };
+        double value = parseNumber();
+
+        emit(opcode, index, value, 1);
+    }
+
+    private void emit(int opcode, int operand, double threshold, int stackChange) {
+        stackDepth += stackChange;
+        if (stackDepth > RuleProgram.MAX_STACK_DEPTH) {
+            throw error("more than " + RuleProgram.MAX_STACK_DEPTH + " pending conditions");
+        }
+        code.add(opcode | operand << 8);
+        thresholds.add(threshold);
+    }
+
+    private double parseNumber() {
+        String token = next();
+        try {
+            return Double.parseDouble(token);
+        } catch (NumberFormatException e) {
+            throw error("expected a number but found '" + token + "'");
+        }
+    }
+
+    private boolean accept(String token) {
+        if (position < tokens.size() && tokens.get(position).equals(token)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!accept(token)) {
+            throw error("expected '" + token + "'");
+        }
+    }
+
+    private String next() {
+        if (position >= tokens.size()) {
+            throw error("unexpected end of rule");
+        }
+        return tokens.get(position++);
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Invalid rule \"" + source + "\": " + message);
+    }
+
+    private static List<String> tokenize(String source) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < source.length() && (Character.isLetterOrDigit(source.charAt(i)) || source.charAt(i) == '_')) {
+                    i++;
+                }
+                tokens.add(source.substring(start, i));
+            } else if (Character.isDigit(c) || c == '.' || (c == '-' && i + 1 < source.length()
+                    && (Character.isDigit(source.charAt(i + 1)) || source.charAt(i + 1) == '.'))) {
+                int start = i++;
+                while (i < source.length() && (Character.isDigit(source.charAt(i)) || source.charAt(i) == '.')) {
+                    i++;
+                }
+                tokens.add(source.substring(start, i));
+            } else if (i + 1 < source.length() && isTwoCharOperator(source.substring(i, i + 2))) {
+                tokens.add(source.substring(i, i + 2));
+                i += 2;
+            } else if ("<>!(),".indexOf(c) >= 0) {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else {
+                throw new IllegalArgumentException("Invalid rule \"" + source + "\": unexpected character '" + c + "'");
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isTwoCharOperator(String candidate) {
+        return switch (candidate) {
+            case ">=", "<=", "==", "!=", "&&", "||" -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.backend.service.fraud.rules;
+
+/**
+ * A set of compiled rule conditions stored as one flat postfix program. Each instruction is an int:
+ * the opcode in the low byte and its operands above it. A comparison's operand is the feature index
+ * and its threshold sits at the same position in a parallel array; intermediate results live in
+ * the bits of a long used as a stack.
+ *
+ * Evaluation is a single loop over int and double arrays with no virtual calls, so the JIT compiles
+ * it to straight-line code regardless of how many rules there are or how they are nested. Every
+ * operand is evaluated (there is no short-circuiting); comparisons have no side effects, so only
+ * the cost differs.
+ */
+final class RuleProgram {
+    static final int GT = 0;
+    static final int GE = 1;
+    static final int LT = 2;
+    static final int LE = 3;
+    static final int EQ = 4;
+    static final int NE = 5;
+    static final int AND = 6;
+    static final int OR = 7;
+    static final int NOT = 8;
+    static final int AT_LEAST = 9; // operands: count << 8, required << 16
+
+    // One bit per pending result; a shift by 64 would be a no-op in Java
+    static final int MAX_STACK_DEPTH = Long.SIZE - 1;
+
+    private final int[] code;
+    private final int[] ruleEnds;
+    private final double[] thresholds;
+
+    RuleProgram(int[] code, int[] ruleEnds, double[] thresholds) {
+        this.code = code;
+        this.ruleEnds = ruleEnds;
+        this.thresholds = thresholds;
+    }
+
+    int ruleCount() {
+        return ruleEnds.length;
+    }
+
+    /**
+     * Evaluates every rule against the given features.
+     *
+     * @param features The feature vector, indexed by FraudFeature ordinals.
+     * @return A bitmask with bit i set when rule i matched.
+     */
+    long matchAll(double[] features) {
+        long matches = 0L;
+        int pc = 0;
+        for (int rule = 0; rule < ruleEnds.length; rule++) {
+            long stack = 0L; // bit 0 is the top
+            for (int end = ruleEnds[rule]; pc < end; pc++) {
+                int instruction = code[pc];
+                int operand = instruction >>> 8;
+                switch (instruction & 0xFF) {
+                    case GT -> stack = push(stack, features[operand] > thresholds[pc]);
+                    case GE -> stack = push(stack, features[operand] >= thresholds[pc]);
+                    case LT -> stack = push(stack, features[operand] < thresholds[pc]);
+                    case LE -> stack = push(stack, features[operand] <= thresholds[pc]);
+                    case EQ -> stack = push(stack, features[operand] == thresholds[pc]);
+                    case NE -> stack = push(stack, features[operand] != thresholds[pc]);
+                    // Combine the top two bits into one; (stack | ~1L) keeps the bits below them intact
+                    case AND -> stack = (stack >>> 1) & (stack | ~1L);
+                    case OR -> stack = (stack >>> 1) | (stack & 1L);
+                    case NOT -> stack ^= 1L;
+                    case AT_LEAST -> {
+                        int count = operand & 0xFF;
+                        int required = operand >>> 8;
+                        int matched = Long.bitCount(stack & ((1L << count) - 1));
+                        stack = push(stack >>> count, matched >= required);
+                    }
+                    default -> throw new IllegalStateException("Unknown rule instruction " + instruction);
+                }
+            }
+            matches |= (stack & 1L) << rule;
+        }
+        return matches;
+    }
+
+    private static long push(long stack, boolean value) {
+        return (stack << 1) | (value ? 1L : 0L);
+    }
+}
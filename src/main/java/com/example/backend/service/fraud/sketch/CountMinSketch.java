@@ -0,0 +1,119 @@
+package com.example.backend.service.fraud.sketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * A count-min sketch with a fixed-size top-K heap of the heaviest keys seen. Counters are
+ * updated conservatively (only the minimal cells are raised), and can be halved to let old
+ * traffic decay. Memory is depth * width longs plus K heap entries, regardless of key count.
+ */
+public class CountMinSketch {
+    private final int depth;
+    private final int width;
+    private final long[][] counters;
+    private final int topK;
+    private final Map<String, Long> heavyHitters = new HashMap<>();
+    private final PriorityQueue<Map.Entry<String, Long>> minHeap =
+            new PriorityQueue<>(Map.Entry.comparingByValue());
+
+    public CountMinSketch(int depth, int width, int topK) {
+        this.depth = depth;
+        this.width = width;
+        this.counters = new long[depth][width];
+        this.topK = topK;
+    }
+
+    /**
+     * Increments the count of the given key and updates the top-K heap.
+     *
+     * @param key The key to count.
+     */
+    public void add(String key) {
+        long hash = Hashing.hash64(key);
+        long estimate = estimate(hash) + 1;
+        for (int row = 0; row < depth; row++) {
+            int column = column(hash, row);
+            if (counters[row][column] < estimate) {
+                counters[row][column] = estimate;
+            }
+        }
+        offer(key, estimate);
+    }
+
+    /**
+     * Returns the estimated count of the given key. The estimate never undercounts.
+     *
+     * @param key The key to look up.
+     * @return The estimated count.
+     */
+    public long estimate(String key) {
+        return estimate(Hashing.hash64(key));
+    }
+
+    /**
+     * Returns the heaviest keys, most frequent first.
+     *
+     * @return The top-K keys and their estimated counts.
+     */
+    public List<Map.Entry<String, Long>> topK() {
+        List<Map.Entry<String, Long>> top = new ArrayList<>(minHeap);
+        top.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        return top;
+    }
+
+    /**
+     * Halves every counter so that older traffic decays.
+     */
+    public void decay() {
+        for (long[] row : counters) {
+            for (int column = 0; column < width; column++) {
+                row[column] >>>= 1;
+            }
+        }
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(minHeap);
+        minHeap.clear();
+        heavyHitters.clear();
+        for (Map.Entry<String, Long> entry : entries) {
+            if (entry.getValue() > 1) {
+                heavyHitters.put(entry.getKey(), entry.getValue() >>> 1);
+                minHeap.add(Map.entry(entry.getKey(), entry.getValue() >>> 1));
+            }
+        }
+    }
+
+    private long estimate(long hash) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[row][column(hash, row)]);
+        }
+        return min;
+    }
+
+    private int column(long hash, int row) {
+        // Derive the row hashes from two halves of the 64-bit hash (Kirsch-Mitzenmacher)
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return Math.floorMod(h1 + row * h2, width);
+    }
+
+    private void offer(String key, long count) {
+        Long current = heavyHitters.get(key);
+        if (current != null) {
+            minHeap.remove(Map.entry(key, current));
+        } else if (heavyHitters.size() >= topK) {
+            Map.Entry<String, Long> smallest = minHeap.peek();
+            if (smallest == null || smallest.getValue() >= count) {
+                return;
+            }
+            minHeap.poll();
+            heavyHitters.remove(smallest.getKey());
+        }
+        heavyHitters.put(key, count);
+        minHeap.add(Map.entry(key, count));
+    }
+}
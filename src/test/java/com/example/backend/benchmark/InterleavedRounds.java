@@ -0,0 +1,55 @@
+package com.example.backend.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Shared harness for the side-by-side benchmarks under src/test. Every variant is measured once
+ * per round, rounds are interleaved so all variants see the same JIT and machine state, and each
+ * variant is reported as the median of the measured rounds after a few warm-up rounds.
+ */
+public final class InterleavedRounds {
+    public static final int WARMUP_ROUNDS = 3;
+    public static final int MEASURED_ROUNDS = 7;
+
+    private InterleavedRounds() {
+    }
+
+    /**
+     * Runs all variants for the warm-up and measured rounds.
+     *
+     * @param variants One measurement per call, e.g. ops/s or ns/op.
+     * @return The median measurement of each variant, in the order given.
+     */
+    public static double[] medians(Round... variants) throws Exception {
+        List<List<Double>> measurements = new ArrayList<>();
+        for (int i = 0; i < variants.length; i++) {
+            measurements.add(new ArrayList<>());
+        }
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            for (int i = 0; i < variants.length; i++) {
+                double measurement = variants[i].run();
+                if (round >= WARMUP_ROUNDS) {
+                    measurements.get(i).add(measurement);
+                }
+            }
+        }
+        double[] medians = new double[variants.length];
+        for (int i = 0; i < variants.length; i++) {
+            medians[i] = median(measurements.get(i));
+        }
+        return medians;
+    }
+
+    public static double median(List<Double> values) {
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    @FunctionalInterface
+    public interface Round {
+        double run() throws Exception;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.backend.controller;
+
+import com.example.backend.benchmark.InterleavedRounds;
+import com.example.backend.model.Purchase;
+import com.example.backend.model.PurchaseVerdict;
+import com.example.backend.service.PurchaseService;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Side-by-side throughput of JSON and Smile for purchase submission. Not a unit test; run the
+ * main method from the test classpath, e.g.
+ * <pre>
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) com.example.backend.controller.PurchaseCodecBenchmark
+ * </pre>
+ * Two levels are measured, each reported as the median of interleaved rounds (InterleavedRounds):
+ * - codec: parse a purchase and serialize the response with the mappers Spring MVC uses
+ * - end to end: POST /api/purchases through the Spring MVC stack (MockMvc, content negotiation,
+ *   message converters) with PurchaseService stubbed out, since scoring needs a live Ignite cluster
+ */
+public class PurchaseCodecBenchmark {
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    public static void main(String[] args) throws Exception {
+        // Outside Spring Boot logback defaults to DEBUG, which would dominate the request path
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+        Purchase purchase = samplePurchase();
+        byte[] jsonRequest = json.writeValueAsBytes(purchase);
+        byte[] smileRequest = smile.writeValueAsBytes(purchase);
+        System.out.printf("request size: json %d B, smile %d B%n", jsonRequest.length, smileRequest.length);
+
+        compare("codec, full response", 500_000,
+                () -> json.writeValueAsBytes(json.readValue(jsonRequest, Purchase.class)),
+                () -> smile.writeValueAsBytes(smile.readValue(smileRequest, Purchase.class)));
+        compare("codec, verdict response", 500_000,
+                () -> json.writeValueAsBytes(verdict(json.readValue(jsonRequest, Purchase.class))),
+                () -> smile.writeValueAsBytes(verdict(smile.readValue(smileRequest, Purchase.class))));
+
+        MockMvc mvc = mockMvc();
+        compare("POST /api/purchases", 50_000,
+                () -> mvc.perform(post("/api/purchases")
+                        .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON).content(jsonRequest))
+                        .andExpect(status().isOk()),
+                () -> mvc.perform(post("/api/purchases")
+                        .contentType(SMILE).accept(SMILE).content(smileRequest))
+                        .andExpect(status().isOk()));
+        compare("POST /api/purchases?view=verdict", 50_000,
+                () -> mvc.perform(post("/api/purchases").param("view", "verdict")
+                        .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON).content(jsonRequest))
+                        .andExpect(status().isOk()),
+                () -> mvc.perform(post("/api/purchases").param("view", "verdict")
+                        .contentType(SMILE).accept(SMILE).content(smileRequest))
+                        .andExpect(status().isOk()));
+    }
+
+    private static MockMvc mockMvc() {
+        // stubOnly: a recording mock keeps every invocation and slows down as the run goes on
+        PurchaseService purchaseService = mock(PurchaseService.class, withSettings().stubOnly());
+        when(purchaseService.processPurchase(any())).thenAnswer(invocation -> {
+            Purchase processed = invocation.getArgument(0);
+            processed.setId(1L);
+            processed.setTimestamp(LocalDateTime.now());
+            return processed;
+        });
+        return MockMvcBuilders.standaloneSetup(new PurchaseController(purchaseService)).build();
+    }
+
+    private static Purchase samplePurchase() {
+        Purchase purchase = new Purchase();
+        purchase.setId(12345L);
+        purchase.setUserId(1L);
+        purchase.setAmount(299.99);
+        purchase.setMerchantName("Medicine Store");
+        purchase.setCardNumber("4532XXXXXXXX1234");
+        purchase.setTimestamp(LocalDateTime.now());
+        return purchase;
+    }
+
+    private static PurchaseVerdict verdict(Purchase purchase) {
+        return new PurchaseVerdict(purchase.getId(), purchase.isFraud());
+    }
+
+    private static void compare(String name, int operations, Operation json, Operation smile) throws Exception {
+        json.run();
+        smile.run();
+        double[] medians = InterleavedRounds.medians(() -> run(json, operations), () -> run(smile, operations));
+        double jsonMedian = medians[0];
+        double smileMedian = medians[1];
+        System.out.printf("%-34s json %,10.0f ops/s  smile %,10.0f ops/s  delta %+.1f%%%n",
+                name, jsonMedian, smileMedian, (smileMedian / jsonMedian - 1) * 100);
+    }
+
+    private static double run(Operation operation, int operations) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            operation.run();
+        }
+        return operations * 1_000_000_000.0 / (System.nanoTime() - start);
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.backend.service.fraud;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CardLinkageGraphTest {
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    void unknownUserIsASingleton() {
+        CardLinkageGraph graph = graph();
+        graph.link(List.of(1L), T0);
+
+        assertThat(graph.getComponent(1L, T0).getSize()).isEqualTo(1);
+        assertThat(graph.getComponent(2L, T0).getSize()).isEqualTo(1);
+        assertThat(graph.getComponent(2L, T0).getGrowthRate()).isZero();
+        assertThat(graph.getComponent(null, T0).getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void usersSharingCardsFormOneComponent() {
+        CardLinkageGraph graph = graph();
+        graph.link(List.of(1L, 2L), T0);
+        graph.link(List.of(3L, 4L), T0);
+        graph.link(List.of(2L, 4L), T0);
+        graph.link(List.of(5L), T0);
+
+        for (long user = 1; user <= 4; user++) {
+            assertThat(graph.getComponent(user, T0).getSize()).isEqualTo(4);
+        }
+        assertThat(graph.getComponent(5L, T0).getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void mergeCountsUsersOfTheSmallerComponentAsJoins() {
+        CardLinkageGraph graph = graph();
+        // A ring of three, rebuilt from the cache so it has no growth
+        graph.link(List.of(1L, 2L, 3L), 0L);
+        graph.link(List.of(4L, 5L), 0L);
+        assertThat(graph.getComponent(1L, T0).getGrowthRate()).isZero();
+
+        graph.link(List.of(5L, 1L), T0);
+
+        // Whichever side the link names first, the two users of the smaller ring are the joins
+        assertThat(graph.getComponent(4L, T0).getSize()).isEqualTo(5);
+        assertThat(graph.getComponent(4L, T0).getGrowthRate()).isEqualTo(2.0);
+    }
+
+    @Test
+    void relinkingHasNoEffect() {
+        CardLinkageGraph graph = graph();
+        graph.link(List.of(1L, 2L), T0);
+        graph.link(List.of(1L, 2L), T0);
+        graph.link(List.of(2L, 1L), T0);
+
+        assertThat(graph.getComponent(1L, T0).getSize()).isEqualTo(2);
+        assertThat(graph.getComponent(1L, T0).getGrowthRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    void growthDecaysWithAOneHourHalfLife() {
+        CardLinkageGraph graph = graph();
+        graph.link(List.of(1L, 2L, 3L, 4L, 5L), T0);
+        assertThat(graph.getComponent(1L, T0).getGrowthRate()).isEqualTo(4.0);
+
+        assertThat(graph.getComponent(1L, T0 + HOUR).getGrowthRate()).isCloseTo(2.0, within(1e-9));
+        assertThat(graph.getComponent(1L, T0 + 2 * HOUR).getGrowthRate()).isCloseTo(1.0, within(1e-9));
+
+        // A later join adds to the decayed growth
+        graph.link(List.of(5L, 6L), T0 + HOUR);
+        assertThat(graph.getComponent(6L, T0 + HOUR).getGrowthRate()).isCloseTo(3.0, within(1e-9));
+        assertThat(graph.getComponent(6L, T0 + 2 * HOUR).getGrowthRate()).isCloseTo(1.5, within(1e-9));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CardLinkageGraph graph() {
+        Ignite ignite = mock(Ignite.class);
+        when(ignite.getOrCreateCache(anyString())).thenReturn(mock(IgniteCache.class));
+        return new CardLinkageGraph(ignite);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.backend.service.fraud;
+
+import com.example.backend.model.MerchantLocation;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class MerchantLocationIndexTest {
+    private static final double METRES_PER_DEGREE = 111_320.0;
+
+    @Test
+    void geohashRoundTripIsWithinAMetre() {
+        MerchantLocationIndex index = new MerchantLocationIndex();
+        double[][] points = {{16.8409, 96.1735}, {51.5074, -0.1278}, {-33.8688, 151.2093}, {89.9999, -179.9999}};
+        for (double[] point : points) {
+            index.addMerchant(new MerchantLocation("m", point[0], point[1]));
+            MerchantLocation decoded = index.getLocation("m");
+
+            double northMetres = (decoded.getLatitude() - point[0]) * METRES_PER_DEGREE;
+            double eastMetres = (decoded.getLongitude() - point[1]) * METRES_PER_DEGREE
+                    * Math.cos(Math.toRadians(point[0]));
+            assertThat(Math.hypot(northMetres, eastMetres)).isLessThan(1.0);
+        }
+    }
+
+    @Test
+    void distanceBetweenKnownCities() {
+        MerchantLocationIndex index = new MerchantLocationIndex();
+        index.addMerchant(new MerchantLocation("London", 51.5074, -0.1278));
+        index.addMerchant(new MerchantLocation("Paris", 48.8566, 2.3522));
+        index.addMerchant(new MerchantLocation("Yangon", 16.8409, 96.1735));
+        index.addMerchant(new MerchantLocation("Mandalay", 21.9588, 96.0891));
+
+        assertThat(index.distanceKm(index.getGeohash("London"), index.getGeohash("Paris"))).isCloseTo(343.5, within(1.0));
+        assertThat(index.distanceKm(index.getGeohash("Yangon"), index.getGeohash("Mandalay"))).isCloseTo(569.0, within(2.0));
+        assertThat(index.distanceKm(index.getGeohash("Paris"), index.getGeohash("Paris"))).isZero();
+    }
+
+    @Test
+    void findsMerchantsInNeighbouringCells() {
+        MerchantLocationIndex index = new MerchantLocationIndex();
+        index.addMerchant(new MerchantLocation("Medicine Store", 16.8409, 96.1735));
+        index.addMerchant(new MerchantLocation("Book Corner", 21.9588, 96.0891));
+
+        assertThat(index.findNearbyMerchants(16.8412, 96.1731)).containsExactly("Medicine Store");
+    }
+
+    @Test
+    void bundledMerchantsHaveNoOnlineLocation() {
+        MerchantLocationIndex index = new MerchantLocationIndex();
+        index.init();
+
+        assertThat(index.getGeohash("Medicine Store")).isNotNull();
+        assertThat(index.getGeohash("Online Marketplace")).isNull();
+    }
+
+    @Test
+    void rejectsInvalidMerchants() {
+        MerchantLocationIndex index = new MerchantLocationIndex();
+
+        assertThatThrownBy(() -> index.addMerchant(new MerchantLocation(" ", 0, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.addMerchant(new MerchantLocation("m", 91, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.addMerchant(new MerchantLocation("m", Double.NaN, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.addMerchant(new MerchantLocation("m", 0, -180.5)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
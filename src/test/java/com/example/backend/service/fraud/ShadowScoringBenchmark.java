@@ -0,0 +1,137 @@
+package com.example.backend.service.fraud;
+
+import com.example.backend.benchmark.InterleavedRounds;
+import com.example.backend.model.HistoricalAnalysis;
+import com.example.backend.model.Purchase;
+import com.example.backend.model.ShadowStats;
+import com.example.backend.service.fraud.rules.FraudRuleEngine;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import weka.classifiers.AbstractClassifier;
+import weka.classifiers.Classifier;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Live scoring latency with shadow scoring of a candidate model switched on and off. Not a unit
+ * test; run the main method from the test classpath, e.g.
+ * <pre>
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) com.example.backend.service.fraud.ShadowScoringBenchmark
+ * </pre>
+ * One request thread per core calls FraudDetectionService.evaluateTransaction, so the shadow scorer
+ * has to share the machine with a fully loaded live path. Ignite and the history lookups are
+ * stubbed, which leaves the live classifier, the rules and the shadow hand-off on the measured path.
+ * The candidate is a copy of the live forest, i.e. a retrained model of the same size. The live p99
+ * of each variant is reported as the median of interleaved rounds (InterleavedRounds).
+ */
+public class ShadowScoringBenchmark {
+    private static final int REQUEST_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int PURCHASES_PER_THREAD = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        ShadowModelEvaluator shadowModelEvaluator = new ShadowModelEvaluator("", 1000);
+        shadowModelEvaluator.init();
+        FraudDetectionService fraudDetectionService = fraudDetectionService(shadowModelEvaluator);
+        Classifier candidate = AbstractClassifier.makeCopy(fraudDetectionService.getLiveModel().getClassifier());
+        List<Purchase> purchases = purchases(new Random(42));
+        ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+
+        List<ShadowStats> candidateStats = new ArrayList<>();
+        try {
+            double[] medians = InterleavedRounds.medians(
+                    () -> {
+                        shadowModelEvaluator.setCandidate(null, null);
+                        return liveP99Micros(fraudDetectionService, purchases, requestThreads);
+                    },
+                    () -> {
+                        shadowModelEvaluator.setCandidate(candidate, "copy-of-live");
+                        double p99 = liveP99Micros(fraudDetectionService, purchases, requestThreads);
+                        candidateStats.add(shadowModelEvaluator.getStats());
+                        return p99;
+                    });
+            System.out.printf("%d request threads, live p99: candidate off %.1f us, on %.1f us (%+.1f%%)%n",
+                    REQUEST_THREADS, medians[0], medians[1], (medians[1] / medians[0] - 1) * 100);
+
+            ShadowStats last = candidateStats.get(candidateStats.size() - 1);
+            System.out.printf("candidate, last round: submitted %d, dropped %d, p99 %.3f ms, max %.3f ms%n",
+                    last.getSubmitted(), last.getDropped(), last.getP99LatencyMillis(), last.getMaxLatencyMillis());
+        } finally {
+            requestThreads.shutdownNow();
+            shadowModelEvaluator.shutdown();
+        }
+    }
+
+    private static double liveP99Micros(FraudDetectionService service, List<Purchase> purchases,
+                                        ExecutorService requestThreads) throws Exception {
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < REQUEST_THREADS; t++) {
+            int offset = t * 997;
+            results.add(requestThreads.submit(() -> {
+                long[] latencies = new long[PURCHASES_PER_THREAD];
+                for (int i = 0; i < latencies.length; i++) {
+                    Purchase purchase = purchases.get((offset + i) % purchases.size());
+                    long start = System.nanoTime();
+                    service.evaluateTransaction(purchase);
+                    latencies[i] = System.nanoTime() - start;
+                }
+                return latencies;
+            }));
+        }
+        long[] all = new long[REQUEST_THREADS * PURCHASES_PER_THREAD];
+        for (int t = 0; t < REQUEST_THREADS; t++) {
+            System.arraycopy(results.get(t).get(), 0, all, t * PURCHASES_PER_THREAD, PURCHASES_PER_THREAD);
+        }
+        Arrays.sort(all);
+        return all[(int) Math.ceil(all.length * 0.99) - 1] / 1_000.0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FraudDetectionService fraudDetectionService(ShadowModelEvaluator shadowModelEvaluator) {
+        // stubOnly: a recording mock keeps every invocation and slows down as the run goes on
+        Ignite ignite = mock(Ignite.class, withSettings().stubOnly());
+        IgniteCache<Object, Object> cache = mock(IgniteCache.class, withSettings().stubOnly());
+        when(ignite.getOrCreateCache(anyString())).thenReturn(cache);
+        TransactionHistoryAnalyzer historyAnalyzer = mock(TransactionHistoryAnalyzer.class, withSettings().stubOnly());
+        HistoricalAnalysis history = new HistoricalAnalysis();
+        history.setPurchaseFrequencyScore(0.3);
+        when(historyAnalyzer.analyzeUserHistory(any(), any())).thenReturn(history);
+
+        FraudRuleEngine ruleEngine = new FraudRuleEngine("", 0);
+        ruleEngine.init();
+        FraudDetectionService service = new FraudDetectionService(ignite, historyAnalyzer,
+                mock(CardLinkageGraph.class, withSettings().stubOnly()),
+                mock(GeoVelocityAnalyzer.class, withSettings().stubOnly()),
+                shadowModelEvaluator,
+                mock(MerchantActivitySketches.class, withSettings().stubOnly()),
+                ruleEngine);
+        service.init();
+        return service;
+    }
+
+    private static List<Purchase> purchases(Random random) {
+        List<Purchase> purchases = new ArrayList<>();
+        for (int i = 0; i < 4096; i++) {
+            Purchase purchase = new Purchase();
+            purchase.setUserId(1L + random.nextInt(1000));
+            purchase.setAmount(1.0 + random.nextDouble() * 5000.0);
+            purchase.setMerchantName("Medicine Store");
+            purchase.setTimestamp(LocalDateTime.of(2024, 3, 1, random.nextInt(24), 0));
+            purchases.add(purchase);
+        }
+        return purchases;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.backend.service.fraud.journal;
+
+import com.example.backend.model.Purchase;
+import com.example.backend.service.fraud.FraudDecision;
+import com.example.backend.service.fraud.rules.FraudFeature;
+import com.example.backend.service.fraud.rules.FraudRuleSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DecisionJournalTest {
+    private static final String CARD_NUMBER = "4532015112830366";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        JournalRecord record = new JournalRecord();
+        record.setPurchaseId(42L);
+        record.setUserId(7L);
+        record.setTimestamp(LocalDateTime.of(2024, 3, 1, 14, 30, 15, 123_000_000));
+        record.setAmount(299.99);
+        record.setMerchantName("Medicine Store");
+        record.setCardToken(-123456789L);
+        record.setFeatures(new double[]{299.99, 14, 1, 0.25});
+        record.setRuleHits(0b101L);
+        record.setFraud(true);
+        record.setFirstPurchase(false);
+        record.setFallback(true);
+        record.setModelVersion("random-forest-v1");
+
+        assertThat(JournalLayout.hasRecord(buffer, 64)).isFalse();
+        JournalLayout.writeRecord(buffer, 64, record);
+        assertThat(JournalLayout.hasRecord(buffer, 64)).isTrue();
+
+        JournalRecord read = JournalLayout.readRecord(buffer, 64);
+        assertThat(read.getPurchaseId()).isEqualTo(42L);
+        assertThat(read.getUserId()).isEqualTo(7L);
+        assertThat(read.getTimestamp()).isEqualTo(record.getTimestamp());
+        assertThat(read.getAmount()).isEqualTo(299.99);
+        assertThat(read.getMerchantName()).isEqualTo("Medicine Store");
+        assertThat(read.getCardToken()).isEqualTo(-123456789L);
+        assertThat(read.getFeatures()).containsExactly(299.99, 14, 1, 0.25);
+        assertThat(read.getRuleHits()).isEqualTo(0b101L);
+        assertThat(read.isFraud()).isTrue();
+        assertThat(read.isFirstPurchase()).isFalse();
+        assertThat(read.isFallback()).isTrue();
+        assertThat(read.getModelVersion()).isEqualTo("random-forest-v1");
+    }
+
+    @Test
+    void nullAndTruncatedFields() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(JournalLayout.RECORD_SIZE);
+        JournalRecord record = new JournalRecord();
+        record.setMerchantName("M".repeat(100));
+        record.setModelVersion(null);
+
+        JournalLayout.writeRecord(buffer, 0, record);
+        JournalRecord read = JournalLayout.readRecord(buffer, 0);
+
+        assertThat(read.getPurchaseId()).isNull();
+        assertThat(read.getUserId()).isNull();
+        assertThat(read.getTimestamp()).isNull();
+        assertThat(read.getMerchantName()).isEqualTo("M".repeat(47));
+        assertThat(read.getModelVersion()).isNull();
+        assertThat(read.getFeatures()).isEmpty();
+    }
+
+    @Test
+    void headerRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        assertThat(JournalLayout.readHeader(buffer)).isNull();
+
+        int headerSize = JournalLayout.writeHeader(buffer, 99L,
+                new String[]{"amount", "hour_of_day"}, new String[]{"card_ring", "ml_model"});
+        JournalLayout.SegmentHeader header = JournalLayout.readHeader(buffer);
+
+        assertThat(headerSize % 8).isZero();
+        assertThat(header.getHeaderSize()).isEqualTo(headerSize);
+        assertThat(header.getRuleSetVersion()).isEqualTo(99L);
+        assertThat(header.getFeatureNames()).containsExactly("amount", "hour_of_day");
+        assertThat(header.getRuleNames()).containsExactly("card_ring", "ml_model");
+    }
+
+    @Test
+    void rollsSegmentWhenFull() throws Exception {
+        FraudRuleSet rules = bundledRules();
+        // 1 MB segments hold a little over 4000 records
+        DecisionJournal journal = new DecisionJournal(directory.toString(), 1, 10_000, "test-key");
+        journal.init();
+        for (long id = 1; id <= 5000; id++) {
+            journal.append(purchase(id), decision(rules, 0L));
+        }
+        journal.shutdown();
+
+        assertThat(journal.getWrittenCount()).isEqualTo(5000);
+        assertThat(journal.getDroppedCount()).isZero();
+        assertThat(DecisionJournal.listSegments(directory)).hasSize(2);
+
+        List<Long> ids = new ArrayList<>();
+        long count = new DecisionJournalReader(directory).forEach(record -> ids.add(record.getPurchaseId()));
+        assertThat(count).isEqualTo(5000);
+        assertThat(ids).first().isEqualTo(1L);
+        assertThat(ids).last().isEqualTo(5000L);
+        assertThat(ids).isSorted();
+    }
+
+    @Test
+    void truncatesClosedSegments() throws Exception {
+        FraudRuleSet rules = bundledRules();
+        DecisionJournal journal = new DecisionJournal(directory.toString(), 1, 100, "test-key");
+        journal.init();
+        for (long id = 1; id <= 3; id++) {
+            journal.append(purchase(id), decision(rules, 0L));
+        }
+        journal.shutdown();
+
+        Path segment = DecisionJournal.listSegments(directory).get(0);
+        long headerSize;
+        try (FileChannel channel = FileChannel.open(segment)) {
+            headerSize = JournalLayout.readHeader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()))
+                    .getHeaderSize();
+        }
+        // Three records and one empty slot
+        assertThat(Files.size(segment)).isEqualTo(headerSize + 4L * JournalLayout.RECORD_SIZE);
+        assertThat(new DecisionJournalReader(directory).forEach(record -> { })).isEqualTo(3);
+    }
+
+    @Test
+    void rollsSegmentWhenRuleSetChangesAndKeepsRuleNames() throws Exception {
+        FraudRuleSet rules = bundledRules();
+        Properties changed = bundledProperties();
+        changed.setProperty("risk.a_large_amount", "amount > 5000");
+        FraudRuleSet changedRules = FraudRuleSet.compile(changed);
+        assertThat(changedRules.getVersion()).isNotEqualTo(rules.getVersion());
+
+        DecisionJournal journal = new DecisionJournal(directory.toString(), 1, 100, "test-key");
+        journal.init();
+        journal.append(purchase(1L), decision(rules, 1L));
+        journal.append(purchase(2L), decision(changedRules, 1L));
+        journal.shutdown();
+
+        assertThat(DecisionJournal.listSegments(directory)).hasSize(2);
+        List<JournalRecord> records = new ArrayList<>();
+        new DecisionJournalReader(directory).forEach(records::add);
+        assertThat(records).hasSize(2);
+        // Bit 0 names a different rule in each segment
+        assertThat(records.get(0).getRuleSetVersion()).isEqualTo(rules.getVersion());
+        assertThat(records.get(0).getRuleNames()).containsExactly(rules.getRiskRuleNames());
+        assertThat(records.get(0).getRuleNames()[0]).isEqualTo("card_merchant_spread");
+        assertThat(records.get(1).getRuleSetVersion()).isEqualTo(changedRules.getVersion());
+        assertThat(records.get(1).getRuleNames()[0]).isEqualTo("a_large_amount");
+    }
+
+    @Test
+    void storesCardTokenInsteadOfCardNumber() throws Exception {
+        FraudRuleSet rules = bundledRules();
+        DecisionJournal journal = new DecisionJournal(directory.toString(), 1, 100, "test-key");
+        journal.init();
+        journal.append(purchase(1L), decision(rules, 0L));
+        journal.append(purchase(2L), decision(rules, 0L));
+        journal.shutdown();
+
+        List<JournalRecord> records = new ArrayList<>();
+        new DecisionJournalReader(directory).forEach(records::add);
+        assertThat(records.get(0).getCardToken())
+                .isEqualTo(records.get(1).getCardToken())
+                .isNotEqualTo(JournalLayout.NULL_ID);
+
+        for (Path segment : DecisionJournal.listSegments(directory)) {
+            String contents = new String(Files.readAllBytes(segment), StandardCharsets.ISO_8859_1);
+            assertThat(contents).doesNotContain(CARD_NUMBER);
+        }
+    }
+
+    @Test
+    void mapsRecordedFeaturesByName() throws Exception {
+        DecisionJournal journal = new DecisionJournal(directory.toString(), 1, 100, "test-key");
+        journal.init();
+        journal.append(purchase(1L), decision(bundledRules(), 0L));
+        journal.shutdown();
+
+        List<JournalRecord> records = new ArrayList<>();
+        new DecisionJournalReader(directory).forEach(records::add);
+        double[] features = records.get(0).getFeatures();
+        assertThat(features).hasSize(FraudFeature.COUNT);
+        assertThat(features[FraudFeature.AMOUNT.ordinal()]).isEqualTo(120.0);
+        assertThat(features[FraudFeature.CARD_RING_SIZE.ordinal()]).isEqualTo(3.0);
+    }
+
+    @Test
+    void disabledJournalIgnoresDecisions() {
+        DecisionJournal journal = new DecisionJournal("", 1, 100, "");
+        journal.init();
+        journal.append(purchase(1L), decision(bundledRules(), 0L));
+
+        assertThat(journal.isWriterRunning()).isFalse();
+        assertThat(journal.getStats().isEnabled()).isFalse();
+        assertThat(journal.getDroppedCount()).isZero();
+    }
+
+    private static Purchase purchase(long id) {
+        Purchase purchase = new Purchase();
+        purchase.setId(id);
+        purchase.setUserId(1L);
+        purchase.setAmount(120.0);
+        purchase.setMerchantName("Medicine Store");
+        purchase.setCardNumber(CARD_NUMBER);
+        purchase.setTimestamp(LocalDateTime.of(2024, 3, 1, 14, 30));
+        return purchase;
+    }
+
+    private static FraudDecision decision(FraudRuleSet rules, long ruleHits) {
+        double[] features = new double[FraudFeature.COUNT];
+        features[FraudFeature.AMOUNT.ordinal()] = 120.0;
+        features[FraudFeature.HOUR_OF_DAY.ordinal()] = 14;
+        features[FraudFeature.CARD_RING_SIZE.ordinal()] = 3;
+        return new FraudDecision(false, false, features, ruleHits, rules, "random-forest-v1");
+    }
+
+    private static FraudRuleSet bundledRules() {
+        return FraudRuleSet.compile(bundledProperties());
+    }
+
+    private static Properties bundledProperties() {
+        Properties properties = new Properties();
+        try (InputStream in = DecisionJournalTest.class.getClassLoader().getResourceAsStream("fraud-rules.properties")) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return properties;
+    }
+}
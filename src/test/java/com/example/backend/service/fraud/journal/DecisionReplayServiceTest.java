@@ -0,0 +1,124 @@
+package com.example.backend.service.fraud.journal;
+
+import com.example.backend.model.Purchase;
+import com.example.backend.model.ReplayResult;
+import com.example.backend.service.fraud.FraudDecision;
+import com.example.backend.service.fraud.FraudDetectionService;
+import com.example.backend.service.fraud.ScoringModel;
+import com.example.backend.service.fraud.ShadowModelEvaluator;
+import com.example.backend.service.fraud.rules.FraudFeature;
+import com.example.backend.service.fraud.rules.FraudRuleSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DecisionReplayServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void comparesVerdictsPerModelVersionAndSkipsFallbacks() throws Exception {
+        FraudRuleSet rules = bundledRules();
+        DecisionJournal journal = new DecisionJournal(directory.toString(), 1, 100, "test-key");
+        journal.init();
+        journal.append(purchase(1L), new FraudDecision(false, false, features(), 0L, rules, "v1"));
+        journal.append(purchase(2L), new FraudDecision(true, false, features(), 0L, rules, "v1"));
+        journal.append(purchase(3L), new FraudDecision(false, false, features(), 0L, rules, "v2"));
+        journal.append(purchase(4L), new FraudDecision(true, false, features(), 0L, rules, "v1", true));
+        journal.shutdown();
+
+        ScoringModel model = new ScoringModel(null, "candidate");
+        FraudDetectionService fraudDetectionService = mock(FraudDetectionService.class);
+        // The replayed model flags everything
+        when(fraudDetectionService.replayDecision(any(), any(), anyBoolean(), eq(model)))
+                .thenReturn(new FraudDecision(true, false, features(), 0L, rules, "candidate"));
+        DecisionReplayService replayService = new DecisionReplayService(fraudDetectionService,
+                new ShadowModelEvaluator("", 10), journal);
+
+        ReplayResult result = replayService.replay(model);
+
+        assertThat(result.getModelVersion()).isEqualTo("candidate");
+        assertThat(result.getRecords()).isEqualTo(4);
+        assertThat(result.getFallbackRecords()).isEqualTo(1);
+        assertThat(result.getRecordedFraudCount()).isEqualTo(1);
+        assertThat(result.getReplayedFraudCount()).isEqualTo(3);
+        assertThat(result.getVerdictChanges()).isEqualTo(2);
+        assertThat(result.getVerdictChangesByModelVersion()).isEqualTo(Map.of("v1", 1L, "v2", 1L));
+    }
+
+    @Test
+    void countsRecordsTheModelFailsToScore() throws Exception {
+        FraudRuleSet rules = bundledRules();
+        DecisionJournal journal = new DecisionJournal(directory.toString(), 1, 100, "test-key");
+        journal.init();
+        journal.append(purchase(1L), new FraudDecision(false, false, features(), 0L, rules, "v1"));
+        journal.shutdown();
+
+        FraudDetectionService fraudDetectionService = mock(FraudDetectionService.class);
+        when(fraudDetectionService.replayDecision(any(), any(), anyBoolean(), any()))
+                .thenReturn(new FraudDecision(false, false, features(), 0L, rules, "broken", true));
+        DecisionReplayService replayService = new DecisionReplayService(fraudDetectionService,
+                new ShadowModelEvaluator("", 10), journal);
+
+        ReplayResult result = replayService.replay(new ScoringModel(null, "broken"));
+
+        assertThat(result.getReplayErrors()).isEqualTo(1);
+        assertThat(result.getVerdictChanges()).isZero();
+        assertThat(result.getVerdictChangesByModelVersion()).isEmpty();
+    }
+
+    @Test
+    void rejectsUnavailableModels() {
+        DecisionReplayService replayService = new DecisionReplayService(mock(FraudDetectionService.class),
+                new ShadowModelEvaluator("", 10), new DecisionJournal("", 1, 100, ""));
+
+        assertThatThrownBy(() -> replayService.replay(true, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No candidate model");
+        assertThatThrownBy(() -> replayService.replay(false, directory.resolve("missing.model").toString()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Failed to load model");
+        assertThatThrownBy(() -> replayService.replay(true, "model"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Purchase purchase(long id) {
+        Purchase purchase = new Purchase();
+        purchase.setId(id);
+        purchase.setUserId(1L);
+        purchase.setAmount(120.0);
+        purchase.setCardNumber("4532015112830366");
+        purchase.setTimestamp(LocalDateTime.of(2024, 3, 1, 14, 30));
+        return purchase;
+    }
+
+    private static double[] features() {
+        double[] features = new double[FraudFeature.COUNT];
+        features[FraudFeature.AMOUNT.ordinal()] = 120.0;
+        features[FraudFeature.HOUR_OF_DAY.ordinal()] = 14;
+        return features;
+    }
+
+    private static FraudRuleSet bundledRules() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = DecisionReplayServiceTest.class.getClassLoader().getResourceAsStream("fraud-rules.properties")) {
+            properties.load(in);
+        }
+        return FraudRuleSet.compile(properties);
+    }
+}
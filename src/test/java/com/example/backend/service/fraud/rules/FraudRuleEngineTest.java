@@ -0,0 +1,60 @@
+package com.example.backend.service.fraud.rules;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FraudRuleEngineTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reloadPicksUpChanges() throws IOException {
+        Path file = dir.resolve("rules.properties");
+        Properties properties = FraudRuleSetTest.bundledRules();
+        write(file, properties);
+        FraudRuleEngine engine = new FraudRuleEngine(file.toString(), 0);
+        engine.init();
+        assertThat(engine.getRuleSet().getMinRiskFactors()).isEqualTo(2);
+
+        properties.setProperty("decision.min_risk_factors", "3");
+        write(file, properties);
+        engine.reload();
+
+        assertThat(engine.getRuleSet().getMinRiskFactors()).isEqualTo(3);
+    }
+
+    @Test
+    void badReloadKeepsPreviousRules() throws IOException {
+        Path file = dir.resolve("rules.properties");
+        Properties properties = FraudRuleSetTest.bundledRules();
+        write(file, properties);
+        FraudRuleEngine engine = new FraudRuleEngine(file.toString(), 0);
+        engine.init();
+        FraudRuleSet previous = engine.getRuleSet();
+
+        properties.setProperty("risk.broken", "velocity > 3");
+        write(file, properties);
+
+        assertThatThrownBy(engine::reload)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown feature: velocity");
+        assertThat(engine.getRuleSet()).isSameAs(previous);
+    }
+
+    private static void write(Path file, Properties properties) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.backend.service.fraud.rules;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FraudRuleSetTest {
+
+    @Test
+    void riskRulesAreOrderedByName() throws IOException {
+        Properties properties = bundledRules();
+        properties.setProperty("risk.a_large_amount", "amount > 5000");
+
+        FraudRuleSet rules = FraudRuleSet.compile(properties);
+
+        assertThat(rules.getRiskRuleNames()).startsWith("a_large_amount", "card_merchant_spread");
+        double[] features = new double[FraudFeature.COUNT];
+        features[FraudFeature.AMOUNT.ordinal()] = 6000;
+        features[FraudFeature.IMPOSSIBLE_TRAVEL.ordinal()] = 1;
+        long ruleHits = rules.matchRiskRules(features);
+        assertThat(ruleHits).isEqualTo(1L | 1L << indexOf(rules, "impossible_travel"));
+        assertThat(rules.isFraud(ruleHits)).isTrue();
+        assertThat(rules.isFraud(1L)).isFalse();
+    }
+
+    @Test
+    void firstPurchaseRule() throws IOException {
+        FraudRuleSet rules = FraudRuleSet.compile(bundledRules());
+        double[] features = new double[FraudFeature.COUNT];
+
+        features[FraudFeature.HOUR_OF_DAY.ordinal()] = 3;
+        assertThat(rules.isFirstPurchaseFraud(features)).isTrue();
+        features[FraudFeature.HOUR_OF_DAY.ordinal()] = 12;
+        assertThat(rules.isFirstPurchaseFraud(features)).isFalse();
+        features[FraudFeature.AMOUNT.ordinal()] = 2500;
+        assertThat(rules.isFirstPurchaseFraud(features)).isTrue();
+    }
+
+    @Test
+    void versionChangesWithDefinitions() throws IOException {
+        Properties properties = bundledRules();
+        long version = FraudRuleSet.compile(properties).getVersion();
+
+        assertThat(FraudRuleSet.compile(bundledRules()).getVersion()).isEqualTo(version);
+        properties.setProperty("decision.min_risk_factors", "3");
+        assertThat(FraudRuleSet.compile(properties).getVersion()).isNotEqualTo(version);
+    }
+
+    @Test
+    void rejectsMissingParameter() throws IOException {
+        Properties properties = bundledRules();
+        properties.remove("fallback.amount_threshold");
+
+        assertThatThrownBy(() -> FraudRuleSet.compile(properties))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("fallback.amount_threshold");
+    }
+
+    @Test
+    void rejectsNonIntegerParameters() throws IOException {
+        Properties properties = bundledRules();
+        properties.setProperty("decision.min_risk_factors", "2.5");
+        assertThatThrownBy(() -> FraudRuleSet.compile(properties))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("decision.min_risk_factors");
+
+        Properties hourCount = bundledRules();
+        hourCount.setProperty("pattern.min_typical_hour_count", "1e10");
+        assertThatThrownBy(() -> FraudRuleSet.compile(hourCount))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("pattern.min_typical_hour_count");
+    }
+
+    @Test
+    void rejectsInvalidRule() throws IOException {
+        Properties properties = bundledRules();
+        properties.setProperty("risk.broken", "amount >");
+
+        assertThatThrownBy(() -> FraudRuleSet.compile(properties))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("amount >");
+    }
+
+    static Properties bundledRules() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = FraudRuleSetTest.class.getResourceAsStream("/fraud-rules.properties")) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    private static int indexOf(FraudRuleSet rules, String name) {
+        return Arrays.asList(rules.getRiskRuleNames()).indexOf(name);
+    }
+}
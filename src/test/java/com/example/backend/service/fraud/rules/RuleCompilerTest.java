@@ -0,0 +1,150 @@
+package com.example.backend.service.fraud.rules;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RuleCompilerTest {
+
+    @Test
+    void andBindsTighterThanOr() {
+        RuleProgram program = RuleCompiler.compile(List.of("amount > 10 || hour_of_day > 10 && frequency_score > 10"));
+
+        assertThat(matches(program, features(11, 0, 0))).isTrue();
+        assertThat(matches(program, features(0, 11, 0))).isFalse();
+        assertThat(matches(program, features(0, 11, 11))).isTrue();
+    }
+
+    @Test
+    void parenthesesOverridePrecedence() {
+        RuleProgram program = RuleCompiler.compile(List.of("(amount > 10 || hour_of_day > 10) && frequency_score > 10"));
+
+        assertThat(matches(program, features(11, 0, 0))).isFalse();
+        assertThat(matches(program, features(11, 0, 11))).isTrue();
+        assertThat(matches(program, features(0, 11, 11))).isTrue();
+    }
+
+    @Test
+    void notAppliesToTheFollowingOperand() {
+        RuleProgram program = RuleCompiler.compile(List.of(
+                "!amount > 10 && hour_of_day > 10",
+                "!(amount > 10 && hour_of_day > 10)",
+                "!!amount > 10"));
+
+        assertThat(program.matchAll(features(0, 11, 0))).isEqualTo(0b011L);
+        assertThat(program.matchAll(features(11, 11, 0))).isEqualTo(0b100L);
+        assertThat(program.matchAll(features(11, 0, 0))).isEqualTo(0b110L);
+    }
+
+    @Test
+    void atLeastCountsMatchingConditions() {
+        RuleProgram program = RuleCompiler.compile(List.of(
+                "atLeast(2, amount > 10, hour_of_day > 10, frequency_score > 10)"));
+
+        assertThat(matches(program, features(0, 0, 0))).isFalse();
+        assertThat(matches(program, features(11, 0, 0))).isFalse();
+        assertThat(matches(program, features(11, 0, 11))).isTrue();
+        assertThat(matches(program, features(11, 11, 11))).isTrue();
+    }
+
+    @Test
+    void atLeastTakesNestedExpressions() {
+        RuleProgram program = RuleCompiler.compile(List.of(
+                "amount > 0 && atLeast(1, hour_of_day > 10 && frequency_score > 10, !amount > 5)"));
+
+        assertThat(matches(program, features(1, 0, 0))).isTrue();
+        assertThat(matches(program, features(6, 0, 0))).isFalse();
+        assertThat(matches(program, features(6, 11, 11))).isTrue();
+        assertThat(matches(program, features(0, 0, 0))).isFalse();
+    }
+
+    @Test
+    void negativeNumbers() {
+        RuleProgram program = RuleCompiler.compile(List.of("amount > -1.5", "amount >= -.5"));
+
+        assertThat(program.matchAll(features(-1, 0, 0))).isEqualTo(0b01L);
+        assertThat(program.matchAll(features(-0.5, 0, 0))).isEqualTo(0b11L);
+        assertThat(program.matchAll(features(-2, 0, 0))).isZero();
+    }
+
+    @Test
+    void eachRuleSetsItsOwnBit() {
+        RuleProgram program = RuleCompiler.compile(List.of("amount == 1", "amount != 1", "amount <= 1", "amount < 1"));
+
+        assertThat(program.ruleCount()).isEqualTo(4);
+        assertThat(program.matchAll(features(1, 0, 0))).isEqualTo(0b0101L);
+        assertThat(program.matchAll(features(0, 0, 0))).isEqualTo(0b1110L);
+    }
+
+    @Test
+    void rejectsUnknownFeature() {
+        assertThatThrownBy(() -> RuleCompiler.compile(List.of("amount > 1 && velocity > 2")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown feature: velocity");
+    }
+
+    @Test
+    void rejectsUnknownOperator() {
+        assertThatThrownBy(() -> RuleCompiler.compile(List.of("amount ! 1")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unknown operator '!'");
+    }
+
+    @Test
+    void rejectsMissingThreshold() {
+        assertThatThrownBy(() -> RuleCompiler.compile(List.of("amount >")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unexpected end of rule");
+        assertThatThrownBy(() -> RuleCompiler.compile(List.of("amount > hour_of_day")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expected a number but found 'hour_of_day'");
+    }
+
+    @Test
+    void rejectsTrailingTokens() {
+        assertThatThrownBy(() -> RuleCompiler.compile(List.of("amount > 1 amount > 2")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unexpected 'amount'");
+        assertThatThrownBy(() -> RuleCompiler.compile(List.of("(amount > 1")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expected ')'");
+    }
+
+    @Test
+    void rejectsInvalidAtLeast() {
+        assertThatThrownBy(() -> RuleCompiler.compile(List.of("atLeast(1.5, amount > 1)")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("whole number");
+        assertThatThrownBy(() -> RuleCompiler.compile(List.of("atLeast(1)")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at least one condition");
+    }
+
+    @Test
+    void rejectsTooManyPendingConditions() {
+        StringBuilder rule = new StringBuilder("atLeast(1");
+        for (int i = 0; i <= RuleProgram.MAX_STACK_DEPTH; i++) {
+            rule.append(", amount > ").append(i);
+        }
+        rule.append(')');
+
+        assertThatThrownBy(() -> RuleCompiler.compile(List.of(rule.toString())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("pending conditions");
+    }
+
+    private static boolean matches(RuleProgram program, double[] features) {
+        return program.matchAll(features) != 0L;
+    }
+
+    private static double[] features(double amount, double hourOfDay, double frequencyScore) {
+        double[] features = new double[FraudFeature.COUNT];
+        features[FraudFeature.AMOUNT.ordinal()] = amount;
+        features[FraudFeature.HOUR_OF_DAY.ordinal()] = hourOfDay;
+        features[FraudFeature.FREQUENCY_SCORE.ordinal()] = frequencyScore;
+        return features;
+    }
+}
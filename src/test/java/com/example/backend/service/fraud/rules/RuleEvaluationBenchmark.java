@@ -0,0 +1,127 @@
+package com.example.backend.service.fraud.rules;
+
+import com.example.backend.benchmark.InterleavedRounds;
+
+import java.util.Random;
+
+/**
+ * Cost of deciding a purchase with the compiled bundled rules, next to a hand-written equivalent
+ * of the same rules. Not a unit test; run the main method from the test classpath, e.g.
+ * <pre>
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) com.example.backend.service.fraud.rules.RuleEvaluationBenchmark
+ * </pre>
+ * Both variants are first checked to agree on every generated feature vector, so a drift between
+ * fraud-rules.properties and the hand-written rules fails the run instead of skewing it. Each is
+ * reported as the median of interleaved rounds (InterleavedRounds).
+ */
+public class RuleEvaluationBenchmark {
+    private static final int VECTORS = 4096;
+    private static final int OPERATIONS = 10_000_000;
+
+    // Keeps the JIT from dropping the evaluated verdicts
+    private static int sink;
+
+    public static void main(String[] args) throws Exception {
+        FraudRuleEngine engine = new FraudRuleEngine("", 0);
+        engine.init();
+        FraudRuleSet rules = engine.getRuleSet();
+        double[][] vectors = randomVectors(new Random(42));
+
+        int fraudCount = 0;
+        for (double[] features : vectors) {
+            boolean compiled = rules.isFraud(rules.matchRiskRules(features));
+            if (compiled != hardcoded(features)) {
+                throw new IllegalStateException("Compiled and hand-written rules disagree; update hardcoded()");
+            }
+            fraudCount += compiled ? 1 : 0;
+        }
+        System.out.printf("%d vectors, %d fraudulent, verdicts identical%n", vectors.length, fraudCount);
+
+        double[] medians = InterleavedRounds.medians(() -> runHardcoded(vectors), () -> runCompiled(rules, vectors));
+        double hardcodedMedian = medians[0];
+        double compiledMedian = medians[1];
+        System.out.printf("hand-written %6.1f ns/eval  compiled %6.1f ns/eval  ratio %.2fx%n",
+                hardcodedMedian, compiledMedian, compiledMedian / hardcodedMedian);
+        System.out.println("(sink " + sink + ")");
+    }
+
+    /**
+     * The bundled fraud-rules.properties written out by hand.
+     */
+    private static boolean hardcoded(double[] f) {
+        int riskFactors = 0;
+        double frequency = f[FraudFeature.FREQUENCY_SCORE.ordinal()];
+        if (f[FraudFeature.ML_PREDICTION.ordinal()] == 1) {
+            riskFactors++;
+        }
+        int suspicious = (f[FraudFeature.AMOUNT_ZSCORE.ordinal()] > 2 ? 1 : 0)
+                + (f[FraudFeature.HOUR_PURCHASE_COUNT.ordinal()] < 2 ? 1 : 0)
+                + (frequency > 0.6 ? 1 : 0);
+        if (suspicious >= 2) {
+            riskFactors++;
+        }
+        if (frequency > 0.6) {
+            riskFactors++;
+        }
+        if (f[FraudFeature.IMPOSSIBLE_TRAVEL.ordinal()] == 1) {
+            riskFactors++;
+        }
+        if (f[FraudFeature.UNUSUAL_PATTERN_SCORE.ordinal()] > 0.7) {
+            riskFactors++;
+        }
+        if (f[FraudFeature.CARD_RING_SIZE.ordinal()] >= 3 || f[FraudFeature.CARD_RING_GROWTH.ordinal()] >= 2) {
+            riskFactors++;
+        }
+        if (f[FraudFeature.CARD_MERCHANT_SPREAD.ordinal()] >= 8) {
+            riskFactors++;
+        }
+        return riskFactors >= 2;
+    }
+
+    private static double runHardcoded(double[][] vectors) {
+        int fraud = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            if (hardcoded(vectors[i & (VECTORS - 1)])) {
+                fraud++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        sink += fraud;
+        return (double) elapsed / OPERATIONS;
+    }
+
+    private static double runCompiled(FraudRuleSet rules, double[][] vectors) {
+        int fraud = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            if (rules.isFraud(rules.matchRiskRules(vectors[i & (VECTORS - 1)]))) {
+                fraud++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        sink += fraud;
+        return (double) elapsed / OPERATIONS;
+    }
+
+    private static double[][] randomVectors(Random random) {
+        // Ranges straddle every threshold in the bundled rules, so all branches are taken
+        double[][] vectors = new double[VECTORS][FraudFeature.COUNT];
+        for (double[] f : vectors) {
+            f[FraudFeature.AMOUNT.ordinal()] = random.nextDouble() * 5000;
+            f[FraudFeature.HOUR_OF_DAY.ordinal()] = random.nextInt(24);
+            f[FraudFeature.ML_PREDICTION.ordinal()] = random.nextInt(10) == 0 ? 1 : 0;
+            f[FraudFeature.FREQUENCY_SCORE.ordinal()] = random.nextDouble();
+            f[FraudFeature.UNUSUAL_PATTERN_SCORE.ordinal()] = random.nextDouble();
+            f[FraudFeature.AMOUNT_ZSCORE.ordinal()] = random.nextDouble() * 4;
+            f[FraudFeature.HOUR_PURCHASE_COUNT.ordinal()] = random.nextInt(5);
+            f[FraudFeature.IMPOSSIBLE_TRAVEL.ordinal()] = random.nextInt(20) == 0 ? 1 : 0;
+            f[FraudFeature.CARD_RING_SIZE.ordinal()] = 1 + random.nextInt(4);
+            f[FraudFeature.CARD_RING_GROWTH.ordinal()] = random.nextDouble() * 3;
+            f[FraudFeature.CARD_MERCHANT_SPREAD.ordinal()] = random.nextInt(12);
+            f[FraudFeature.USER_MERCHANT_SPREAD.ordinal()] = random.nextInt(12);
+        }
+        return vectors;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.backend.service.fraud.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountMinSketchTest {
+
+    @Test
+    void topKIsOrderedByCount() {
+        CountMinSketch sketch = new CountMinSketch(4, 2048, 3);
+        add(sketch, "Grocery Mart", 50);
+        add(sketch, "Medicine Store", 30);
+        add(sketch, "Coffee House", 10);
+        for (int i = 0; i < 200; i++) {
+            sketch.add("one-off-" + i);
+        }
+
+        List<Map.Entry<String, Long>> top = sketch.topK();
+        assertThat(top).extracting(Map.Entry::getKey)
+                .containsExactly("Grocery Mart", "Medicine Store", "Coffee House");
+        assertThat(top.get(0).getValue()).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    void neverUndercounts() {
+        // A narrow sketch forces collisions
+        CountMinSketch sketch = new CountMinSketch(2, 16, 5);
+        for (int i = 0; i < 100; i++) {
+            add(sketch, "merchant-" + i, i % 7 + 1);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertThat(sketch.estimate("merchant-" + i)).isGreaterThanOrEqualTo(i % 7 + 1);
+        }
+    }
+
+    @Test
+    void decayHalvesCountsAndDropsSingletons() {
+        CountMinSketch sketch = new CountMinSketch(4, 2048, 3);
+        add(sketch, "Grocery Mart", 40);
+        add(sketch, "Medicine Store", 1);
+
+        sketch.decay();
+
+        assertThat(sketch.estimate("Grocery Mart")).isEqualTo(20);
+        assertThat(sketch.estimate("Medicine Store")).isZero();
+        assertThat(sketch.topK()).containsExactly(Map.entry("Grocery Mart", 20L));
+    }
+
+    private static void add(CountMinSketch sketch, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            sketch.add(key);
+        }
+    }
+}
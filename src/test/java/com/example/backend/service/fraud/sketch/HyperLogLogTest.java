@@ -0,0 +1,59 @@
+package com.example.backend.service.fraud.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HyperLogLogTest {
+    // Precision used by MerchantActivitySketches
+    private static final int PRECISION = 6;
+    private static final double STANDARD_ERROR = 1.04 / Math.sqrt(1 << PRECISION);
+
+    @Test
+    void emptyCounterEstimatesZero() {
+        assertThat(new HyperLogLog(PRECISION).estimate(null)).isZero();
+    }
+
+    @Test
+    void smallCardinalitiesAreWithinThreeSigma() {
+        for (int n = 1; n <= 50; n++) {
+            HyperLogLog hll = new HyperLogLog(PRECISION);
+            for (int i = 0; i < n; i++) {
+                hll.add("merchant-" + n + "-" + i);
+            }
+            // Allow one for rounding at the smallest counts
+            assertThat((double) hll.estimate(null)).as("n=%d", n)
+                    .isBetween(n - Math.max(1.0, 3 * STANDARD_ERROR * n), n + Math.max(1.0, 3 * STANDARD_ERROR * n));
+        }
+    }
+
+    @Test
+    void largeCardinalityIsWithinThreeSigma() {
+        HyperLogLog hll = new HyperLogLog(PRECISION);
+        int n = 5000;
+        for (int i = 0; i < n; i++) {
+            hll.add("merchant-" + i);
+        }
+        assertThat((double) hll.estimate(null)).isBetween(n * (1 - 3 * STANDARD_ERROR), n * (1 + 3 * STANDARD_ERROR));
+    }
+
+    @Test
+    void duplicatesAreCountedOnce() {
+        HyperLogLog hll = new HyperLogLog(PRECISION);
+        for (int i = 0; i < 1000; i++) {
+            hll.add("merchant-" + (i % 5));
+        }
+        assertThat(hll.estimate(null)).isEqualTo(5);
+    }
+
+    @Test
+    void unionCountsValuesOfBothCounters() {
+        HyperLogLog previous = new HyperLogLog(PRECISION);
+        HyperLogLog current = new HyperLogLog(PRECISION);
+        for (int i = 0; i < 10; i++) {
+            previous.add("merchant-" + i);
+            current.add("merchant-" + (i + 5));
+        }
+        assertThat((double) current.estimate(previous)).isBetween(15 * (1 - 3 * STANDARD_ERROR), 15 * (1 + 3 * STANDARD_ERROR));
+    }
+}